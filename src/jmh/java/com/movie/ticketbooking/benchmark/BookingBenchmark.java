@@ -0,0 +1,136 @@
+package com.movie.ticketbooking.benchmark;
+
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import com.movie.ticketbooking.dto.UserDTO;
+import com.movie.ticketbooking.exception.SeatAlreadyBookedException;
+import com.movie.ticketbooking.model.Ticket;
+import com.movie.ticketbooking.service.ShowtimeService;
+import com.movie.ticketbooking.service.TicketService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency of the booking write path: {@link TicketService#bookTicket}, {@link TicketService#cancelTicket}
+ * and {@link TicketService#changeSeat}, once single-threaded across all showtimes and once with
+ * {@value #CONTENDED_THREADS} threads hammering the same hot showtime (shared seat lock stripe,
+ * seat bitmap and unique index).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingBenchmark {
+
+    static final int CONTENDED_THREADS = 8;
+
+    /**
+     * Per-thread user, so threads only compete for seats and never trip each other's overlap check.
+     */
+    @State(Scope.Thread)
+    public static class Booker {
+        TicketService ticketService;
+        ShowtimeService showtimeService;
+        List<UUID> showtimeIds;
+        ShowtimeDetails hotShowtime;
+        UserDTO user;
+
+        @Setup(Level.Trial)
+        public void setUp(BookingBenchmarkContext context) {
+            ticketService = context.getBean(TicketService.class);
+            showtimeService = context.getBean(ShowtimeService.class);
+            showtimeIds = context.getShowtimeIds();
+            hotShowtime = showtimeService.getShowtimeById(context.getHotShowtimeId()).orElseThrow();
+            user = UserDTO.from(context.newUser());
+        }
+
+        ShowtimeDetails randomShowtime() {
+            UUID id = showtimeIds.get(ThreadLocalRandom.current().nextInt(showtimeIds.size()));
+            return showtimeService.getShowtimeById(id).orElseThrow();
+        }
+
+        // Free seats, minus the top ones the seat changers toggle between
+        static int randomFreeSeat() {
+            return ThreadLocalRandom.current().nextInt(BookingBenchmarkContext.SEEDED_SEATS + 1,
+                    BookingBenchmarkContext.HALL_CAPACITY - 2 * CONTENDED_THREADS + 1);
+        }
+    }
+
+    /**
+     * Per-thread ticket on the hot showtime, toggled between its own pair of seats at the top of the hall.
+     */
+    @State(Scope.Thread)
+    public static class SeatChanger {
+        private static final AtomicInteger threads = new AtomicInteger();
+
+        TicketService ticketService;
+        Ticket ticket;
+        int seatA;
+        int seatB;
+
+        @Setup(Level.Trial)
+        public void setUp(BookingBenchmarkContext context) {
+            ticketService = context.getBean(TicketService.class);
+            ShowtimeDetails hotShowtime = context.getBean(ShowtimeService.class)
+                    .getShowtimeById(context.getHotShowtimeId()).orElseThrow();
+
+            int thread = threads.getAndIncrement();
+            seatA = BookingBenchmarkContext.HALL_CAPACITY - 2 * thread;
+            seatB = seatA - 1;
+            ticket = ticketService.bookTicket(hotShowtime, UserDTO.from(context.newUser()), seatA, 12.5);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ticketService.cancelTicket(ticket.getId());
+        }
+
+        Ticket toggleSeat() {
+            int newSeat = ticket.getSeatNumber() == seatA ? seatB : seatA;
+            ticket = ticketService.changeSeat(ticket.getId(), newSeat);
+            return ticket;
+        }
+    }
+
+    //  Book a random free seat of a random showtime, then cancel it again
+    @Benchmark
+    public boolean bookAndCancel(Booker booker) {
+        return bookAndCancel(booker, booker.randomShowtime());
+    }
+
+    //  Same as bookAndCancel, with every thread booking into one showtime
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public boolean bookAndCancelHotShowtime(Booker booker) {
+        return bookAndCancel(booker, booker.hotShowtime);
+    }
+
+    //  Move a ticket back and forth between two free seats
+    @Benchmark
+    public Ticket changeSeat(SeatChanger changer) {
+        return changer.toggleSeat();
+    }
+
+    //  Same as changeSeat, with every thread moving a ticket inside one showtime
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public Ticket changeSeatHotShowtime(SeatChanger changer) {
+        return changer.toggleSeat();
+    }
+
+    private static boolean bookAndCancel(Booker booker, ShowtimeDetails showtime) {
+        Ticket ticket;
+        try {
+            ticket = booker.ticketService.bookTicket(showtime, booker.user, Booker.randomFreeSeat(), 12.5);
+        } catch (SeatAlreadyBookedException e) {
+            // Another thread holds the seat, the rejection is part of the contended path
+            return false;
+        }
+        return booker.ticketService.cancelTicket(ticket.getId());
+    }
+}
@@ -0,0 +1,140 @@
+package com.movie.ticketbooking.benchmark;
+
+import com.movie.ticketbooking.MovieTicketBookingApplication;
+import com.movie.ticketbooking.dao.*;
+import com.movie.ticketbooking.model.*;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the application once per benchmark fork against an in-memory H2 database and seeds it
+ * with a realistic data set: {@value #HALLS} halls with {@value #SLOTS_PER_HALL} upcoming showtimes
+ * each, {@value #USERS} users and {@value #SEEDED_SEATS} sold seats per showtime, plus one heavy
+ * user holding a ticket for every showtime of the first hall.
+ * Seats above {@value #SEEDED_SEATS} are left free for the benchmarks to book.
+ */
+@State(Scope.Benchmark)
+public class BookingBenchmarkContext {
+
+    static final int HALLS = 10;
+    static final int HALL_CAPACITY = 300;
+    static final int SLOTS_PER_HALL = 300;
+    static final int USERS = 5000;
+    static final int SEEDED_SEATS = 20;
+
+    private static final long SEED = 42L;
+    private static final int CHUNK_SIZE = 5000;
+
+    private ConfigurableApplicationContext context;
+    private final List<UUID> showtimeIds = new ArrayList<>();
+    private final AtomicInteger benchmarkUsers = new AtomicInteger();
+    private UUID hotShowtimeId;
+    private UUID heavyUserId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(MovieTicketBookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.h2.console.enabled=false",
+                        // Per-request INFO logging would dominate the measured latency
+                        "--logging.level.root=WARN");
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<UUID> getShowtimeIds() {
+        return showtimeIds;
+    }
+
+    //  The showtime every contended benchmark thread books into
+    public UUID getHotShowtimeId() {
+        return hotShowtimeId;
+    }
+
+    //  A user holding one ticket for every showtime of the first hall
+    public UUID getHeavyUserId() {
+        return heavyUserId;
+    }
+
+    //  A fresh user without tickets, so bookings never trip the overlap check
+    public User newUser() {
+        int n = benchmarkUsers.incrementAndGet();
+        return getBean(UserRepository.class).save(new User("Benchmark User " + n, "bench-" + n + "@example.com"));
+    }
+
+    private void seed() {
+        TransactionTemplate tx = new TransactionTemplate(getBean(PlatformTransactionManager.class));
+        Random random = new Random(SEED);
+
+        Movie movie = getBean(MovieRepository.class).save(new Movie("Benchmark", "Drama", 120, 8.0, 2024));
+        Theater theater = new Theater("Benchmark Theater", "Benchmark Street", new ArrayList<>());
+        for (int h = 1; h <= HALLS; h++) {
+            theater.getHalls().add(new Hall("Hall " + h, HALL_CAPACITY, theater));
+        }
+        theater = getBean(TheaterRepository.class).save(theater);
+
+        // Slots are 3 hours apart and start tomorrow, so every showtime is bookable
+        LocalDateTime firstSlot = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        List<Showtime> showtimes = new ArrayList<>();
+        for (Hall hall : theater.getHalls()) {
+            for (int slot = 0; slot < SLOTS_PER_HALL; slot++) {
+                LocalDateTime start = firstSlot.plusHours(3L * slot);
+                showtimes.add(new Showtime(movie, theater, hall, start, start.plusHours(2)));
+            }
+        }
+        showtimes = getBean(ShowtimeRepository.class).saveAll(showtimes);
+        showtimes.forEach(showtime -> showtimeIds.add(showtime.getId()));
+        hotShowtimeId = showtimeIds.get(random.nextInt(showtimeIds.size()));
+
+        List<User> users = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            users.add(new User("Seed User " + u, "seed-" + u + "@example.com"));
+        }
+        users = getBean(UserRepository.class).saveAll(users);
+        User heavyUser = getBean(UserRepository.class).save(new User("Heavy User", "heavy@example.com"));
+        heavyUserId = heavyUser.getId();
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < showtimes.size(); i++) {
+            Showtime showtime = showtimes.get(i);
+            int firstSeat = 1;
+            if (i < SLOTS_PER_HALL) {
+                tickets.add(new Ticket(showtime, heavyUser, firstSeat++, 12.5));
+            }
+            for (int seat = firstSeat; seat <= SEEDED_SEATS; seat++) {
+                tickets.add(new Ticket(showtime, users.get(random.nextInt(users.size())), seat, 12.5));
+            }
+        }
+        TicketRepository ticketRepository = getBean(TicketRepository.class);
+        for (int from = 0; from < tickets.size(); from += CHUNK_SIZE) {
+            List<Ticket> chunk = tickets.subList(from, Math.min(from + CHUNK_SIZE, tickets.size()));
+            tx.executeWithoutResult(status -> ticketRepository.saveAll(chunk));
+        }
+    }
+}
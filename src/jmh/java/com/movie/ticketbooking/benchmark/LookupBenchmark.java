@@ -0,0 +1,84 @@
+package com.movie.ticketbooking.benchmark;
+
+import com.movie.ticketbooking.dao.ShowtimeRepository;
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dto.BookingWindow;
+import com.movie.ticketbooking.dto.SeatMapDTO;
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import com.movie.ticketbooking.model.Showtime;
+import com.movie.ticketbooking.service.BookingIntervalIndex;
+import com.movie.ticketbooking.service.SeatInventoryService;
+import com.movie.ticketbooking.service.ShowtimeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the read side of a booking: showtime lookups (cached and straight from the database),
+ * the seat map, and the per-user overlap check both through {@link BookingIntervalIndex} and as the
+ * underlying query for a user with {@value BookingBenchmarkContext#SLOTS_PER_HALL} tickets.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+
+    private ShowtimeService showtimeService;
+    private ShowtimeRepository showtimeRepository;
+    private SeatInventoryService seatInventoryService;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private TicketRepository ticketRepository;
+    private List<UUID> showtimeIds;
+    private UUID heavyUserId;
+
+    @Setup(Level.Trial)
+    public void setUp(BookingBenchmarkContext context) {
+        showtimeService = context.getBean(ShowtimeService.class);
+        showtimeRepository = context.getBean(ShowtimeRepository.class);
+        seatInventoryService = context.getBean(SeatInventoryService.class);
+        bookingIntervalIndex = context.getBean(BookingIntervalIndex.class);
+        ticketRepository = context.getBean(TicketRepository.class);
+        showtimeIds = context.getShowtimeIds();
+        heavyUserId = context.getHeavyUserId();
+    }
+
+    @Benchmark
+    public Optional<ShowtimeDetails> showtimeById() {
+        return showtimeService.getShowtimeById(randomShowtimeId());
+    }
+
+    @Benchmark
+    public Optional<Showtime> showtimeByIdUncached() {
+        return showtimeRepository.findById(randomShowtimeId());
+    }
+
+    @Benchmark
+    public SeatMapDTO seatMap() {
+        return seatInventoryService.getSeatMap(showtimeService.getShowtimeById(randomShowtimeId()).orElseThrow());
+    }
+
+    //  Overlap check of a booking against the in-memory index, as done on every booking
+    @Benchmark
+    public boolean overlapCheck() {
+        ShowtimeDetails showtime = showtimeService.getShowtimeById(randomShowtimeId()).orElseThrow();
+        return bookingIntervalIndex.hasOverlap(heavyUserId, showtime.startTime(), showtime.endTime());
+    }
+
+    //  The query the index is (re)loaded from
+    @Benchmark
+    public List<BookingWindow> overlapQuery() {
+        return ticketRepository.findBookingWindows(heavyUserId, LocalDateTime.now());
+    }
+
+    private UUID randomShowtimeId() {
+        return showtimeIds.get(ThreadLocalRandom.current().nextInt(showtimeIds.size()));
+    }
+}
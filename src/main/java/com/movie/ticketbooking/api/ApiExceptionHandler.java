@@ -0,0 +1,44 @@
+package com.movie.ticketbooking.api;
+
+import com.movie.ticketbooking.dto.ScheduleConflictDTO;
+import com.movie.ticketbooking.exception.HoldNotFoundException;
+import com.movie.ticketbooking.exception.SeatAlreadyBookedException;
+import com.movie.ticketbooking.exception.ShowtimeConflictException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.List;
+
+/**
+ * Maps the exceptions the services use to reject a request onto HTTP responses.
+ * Anything not handled here is unexpected and is left to Spring as a 500.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    //  Seat hold released, confirmed or expired
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<String> holdNotFound(HoldNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    //  Seat taken by another hold or booking
+    @ExceptionHandler(SeatAlreadyBookedException.class)
+    public ResponseEntity<String> seatAlreadyBooked(SeatAlreadyBookedException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    //  Hall already in use, one entry per rejected showtime
+    @ExceptionHandler(ShowtimeConflictException.class)
+    public ResponseEntity<List<ScheduleConflictDTO>> showtimeConflict(ShowtimeConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getConflicts());
+    }
+
+    //  Malformed ID or a request the services reject (seat out of range, too close to the showtime, ...)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
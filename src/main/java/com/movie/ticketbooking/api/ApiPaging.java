@@ -0,0 +1,62 @@
+package com.movie.ticketbooking.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.ticketbooking.dto.KeysetPage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Shared request/response handling for paged and streamed list endpoints.
+ */
+final class ApiPaging {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+    static final int MAX_LIMIT = 1000;
+
+    private ApiPaging() {
+    }
+
+    //  Parse the optional `after` cursor, throws IllegalArgumentException when malformed
+    static UUID cursor(String after) {
+        return after == null ? null : UUID.fromString(after);
+    }
+
+    //  Validate the page size, defaulting to 100 when only a cursor is given
+    static int limit(Integer limit) {
+        int size = limit == null ? 100 : limit;
+        if (size <= 0 || size > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return size;
+    }
+
+    //  Page items go in the body, the cursor for the next page in the X-Next-Cursor header
+    static <T> ResponseEntity<List<T>> page(KeysetPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(page.items());
+    }
+
+    //  Stream every item produced by the source as newline-delimited JSON
+    static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = out -> source.accept(item -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+}
@@ -0,0 +1,58 @@
+package com.movie.ticketbooking.api;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache API", description = "Endpoints for inspecting and clearing the reference data caches")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    //  Get hit/miss statistics of every cache
+    @GetMapping("/stats")
+    @Operation(summary = "Get cache statistics", description = "Size, hits, misses, hit rate and evictions of each cache.")
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CacheStats cacheStats = nativeCache.stats();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("size", nativeCache.estimatedSize());
+                entry.put("hits", cacheStats.hitCount());
+                entry.put("misses", cacheStats.missCount());
+                entry.put("hitRate", cacheStats.hitRate());
+                entry.put("evictions", cacheStats.evictionCount());
+                stats.put(name, entry);
+            }
+        }
+        return stats;
+    }
+
+    //  Clear one cache
+    @DeleteMapping("/{cacheName}")
+    @Operation(summary = "Clear a cache", description = "Drop every entry of the named cache.")
+    public ResponseEntity<?> clearCache(@PathVariable String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Cache not found.");
+        }
+        cache.clear();
+        return ResponseEntity.ok("Cache " + cacheName + " cleared.");
+    }
+}
@@ -1,16 +1,20 @@
 package com.movie.ticketbooking.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.movie.ticketbooking.dto.HallRequestDTO;
 import com.movie.ticketbooking.model.Hall;
 import com.movie.ticketbooking.model.Theater;
 import com.movie.ticketbooking.service.HallService;
+import com.movie.ticketbooking.service.OccupancyService;
 import com.movie.ticketbooking.service.TheaterService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,16 +25,37 @@ public class HallController {
 
     private final HallService hallService;
     private final TheaterService theaterService;
+    private final OccupancyService occupancyService;
+    private final ObjectMapper objectMapper;
 
-    public HallController(HallService hallService, TheaterService theaterService) {
+    public HallController(HallService hallService, TheaterService theaterService, OccupancyService occupancyService,
+                          ObjectMapper objectMapper) {
         this.hallService = hallService;
         this.theaterService = theaterService;
+        this.occupancyService = occupancyService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    @Operation(summary = "Get all halls", description = "Retrieve a list of all available halls.")
-    public ResponseEntity<List<Hall>> getAllHalls() {
-        return ResponseEntity.ok(hallService.getAllHalls());
+    @Operation(summary = "Get all halls", description = "Retrieve a list of all available halls. Pass `limit` (and `after`) for keyset pagination; the next cursor is returned in the X-Next-Cursor header.")
+    public ResponseEntity<?> getAllHalls(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(hallService.getAllHalls());
+        }
+        try {
+            return ApiPaging.page(hallService.getHallsPage(ApiPaging.cursor(after), ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor or limit.");
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = ApiPaging.NDJSON)
+    @Operation(summary = "Stream all halls", description = "Stream every hall as newline-delimited JSON.")
+    public ResponseEntity<StreamingResponseBody> streamAllHalls() {
+        return ApiPaging.ndjson(objectMapper, hallService::streamAllHalls);
     }
 
     @GetMapping("/{id}")
@@ -46,6 +71,31 @@ public class HallController {
         }
     }
 
+    //  Get the occupancy of a hall's showtimes
+    @GetMapping("/{id}/occupancy")
+    @Operation(summary = "Get hall occupancy", description = "Sold seats of up to `limit` showtimes of the hall starting in [`from`, `to`) (default: the next 7 days), with totals and sold-out / almost-full counts.")
+    public ResponseEntity<?> getHallOccupancy(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit
+    ) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid hall ID format.");
+        }
+        if (hallService.getHallById(uuid).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(occupancyService.getHallOccupancy(uuid, from, to, ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping
     @Operation(summary = "Create a new hall within theater", description = "Add a new hall to the theater.")
     public ResponseEntity<?> createHall(@RequestBody HallRequestDTO hallRequest) {
@@ -0,0 +1,102 @@
+package com.movie.ticketbooking.api;
+
+import com.movie.ticketbooking.service.ArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/history")
+@Tag(name = "History API", description = "Endpoints for archived (past) showtimes and tickets")
+public class HistoryController {
+
+    private final ArchiveService archiveService;
+
+    public HistoryController(ArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    //  Search archived showtimes
+    @GetMapping("/showtimes")
+    @Operation(summary = "Search archived showtimes", description = "Retrieve up to `limit` archived showtimes with `from` <= startTime < `to` in time order, optionally of one `movieId`.")
+    public ResponseEntity<?> searchArchivedShowtimes(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) UUID movieId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(archiveService.findArchivedShowtimes(from, to, movieId, ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    //  Get an archived showtime by ID
+    @GetMapping("/showtimes/{showtimeId}")
+    @Operation(summary = "Get archived showtime by ID", description = "Retrieve an archived showtime with its movie, theater and hall as they were.")
+    public ResponseEntity<?> getArchivedShowtime(@PathVariable String showtimeId) {
+        try {
+            return archiveService.getArchivedShowtime(UUID.fromString(showtimeId))
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid UUID format.");
+        }
+    }
+
+    //  Get the archived tickets of a showtime
+    @GetMapping("/showtimes/{showtimeId}/tickets")
+    @Operation(summary = "Get archived tickets of a showtime", description = "Retrieve every archived ticket of an archived showtime in seat order.")
+    public ResponseEntity<?> getArchivedTicketsOfShowtime(@PathVariable String showtimeId) {
+        try {
+            return ResponseEntity.ok(archiveService.getArchivedTicketsOfShowtime(UUID.fromString(showtimeId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid UUID format.");
+        }
+    }
+
+    //  Get an archived ticket by ID
+    @GetMapping("/tickets/{ticketId}")
+    @Operation(summary = "Get archived ticket by ID", description = "Retrieve a ticket of an archived showtime.")
+    public ResponseEntity<?> getArchivedTicket(@PathVariable String ticketId) {
+        try {
+            return archiveService.getArchivedTicket(UUID.fromString(ticketId))
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid ticket ID format.");
+        }
+    }
+
+    //  Get a user's archived tickets
+    @GetMapping("/tickets/user/{userId}")
+    @Operation(summary = "Get archived tickets by user", description = "Retrieve up to `limit` archived tickets of a user, most recent showtime first.")
+    public ResponseEntity<?> getArchivedTicketsOfUser(
+            @PathVariable String userId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(archiveService.getArchivedTicketsOfUser(UUID.fromString(userId), ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid user ID or limit.");
+        }
+    }
+
+    //  Archive now instead of waiting for the scheduled run
+    @PostMapping("/archive")
+    @Operation(summary = "Archive ended showtimes", description = "Move showtimes that ended before `endedBefore` (default: the configured archive age, must not be in the future) and their tickets to the archive now; 409 if a run is already in progress.")
+    public ResponseEntity<?> archive(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endedBefore
+    ) {
+        return archiveService.archiveEndedBefore(endedBefore != null ? endedBefore : archiveService.defaultCutoff())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body("An archive run is already in progress."));
+    }
+}
@@ -1,13 +1,14 @@
 package com.movie.ticketbooking.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.movie.ticketbooking.model.Movie;
 import com.movie.ticketbooking.service.MovieService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,16 +18,35 @@ import java.util.UUID;
 public class MovieController {
 
     private final MovieService movieService;
+    private final ObjectMapper objectMapper;
 
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, ObjectMapper objectMapper) {
         this.movieService = movieService;
+        this.objectMapper = objectMapper;
     }
 
     // Get all movies
     @GetMapping
-    @Operation(summary = "Get all movies", description = "Retrieve a list of all available movies.")
-    public ResponseEntity<List<Movie>> getAllMovies() {
-        return ResponseEntity.ok(movieService.getAllMovies());
+    @Operation(summary = "Get all movies", description = "Retrieve a list of all available movies. Pass `limit` (and `after`) for keyset pagination; the next cursor is returned in the X-Next-Cursor header.")
+    public ResponseEntity<?> getAllMovies(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(movieService.getAllMovies());
+        }
+        try {
+            return ApiPaging.page(movieService.getMoviesPage(ApiPaging.cursor(after), ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor or limit.");
+        }
+    }
+
+    // Stream all movies
+    @GetMapping(value = "/stream", produces = ApiPaging.NDJSON)
+    @Operation(summary = "Stream all movies", description = "Stream every movie as newline-delimited JSON.")
+    public ResponseEntity<StreamingResponseBody> streamAllMovies() {
+        return ApiPaging.ndjson(objectMapper, movieService::streamAllMovies);
     }
 
     // Get movie by ID
@@ -0,0 +1,47 @@
+package com.movie.ticketbooking.api;
+
+import com.movie.ticketbooking.service.OutboxPublisher;
+import com.movie.ticketbooking.service.OutboxRelay;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/outbox")
+@Tag(name = "Outbox API", description = "Endpoints for inspecting and replaying the ticket change feed")
+public class OutboxController {
+
+    private final OutboxRelay outboxRelay;
+    private final OutboxPublisher outboxPublisher;
+
+    public OutboxController(OutboxRelay outboxRelay, OutboxPublisher outboxPublisher) {
+        this.outboxRelay = outboxRelay;
+        this.outboxPublisher = outboxPublisher;
+    }
+
+    //  Get the number of events waiting to be written to the outbox
+    @GetMapping("/queue")
+    @Operation(summary = "Get outbox queue depth", description = "Number of committed ticket events still waiting in the in-memory queue to be written to the outbox.")
+    public int getQueuedEvents() {
+        return outboxPublisher.getQueuedEvents();
+    }
+
+    //  Get the delivery status of all consumers
+    @GetMapping("/consumers")
+    @Operation(summary = "Get outbox consumers", description = "List every outbox consumer with the number of events it still has to process and its last delivery.")
+    public List<OutboxRelay.ConsumerStatus> getConsumers() {
+        return outboxRelay.getConsumerStatuses();
+    }
+
+    //  Replay events to a consumer
+    @PostMapping("/consumers/{consumerName}/replay")
+    @Operation(summary = "Replay outbox events", description = "Queue all retained events from the given ID for a consumer again.")
+    public ResponseEntity<?> replay(@PathVariable String consumerName, @RequestParam long fromEventId) {
+        int queued = outboxRelay.replay(consumerName, fromEventId);
+        return ResponseEntity.ok("Consumer " + consumerName + " will replay " + queued + " events from event "
+                + fromEventId + ".");
+    }
+}
@@ -0,0 +1,121 @@
+package com.movie.ticketbooking.api;
+
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import com.movie.ticketbooking.dto.TicketDTO;
+import com.movie.ticketbooking.dto.UserDTO;
+import com.movie.ticketbooking.model.Ticket;
+import com.movie.ticketbooking.service.SeatHold;
+import com.movie.ticketbooking.service.SeatHoldService;
+import com.movie.ticketbooking.service.ShowtimeService;
+import com.movie.ticketbooking.service.TicketService;
+import com.movie.ticketbooking.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/seat-holds")
+@Tag(name = "Seat Holds API", description = "Endpoints for temporarily holding seats during checkout")
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+    private final TicketService ticketService;
+    private final ShowtimeService showtimeService;
+    private final UserService userService;
+
+    public SeatHoldController(SeatHoldService seatHoldService, TicketService ticketService,
+                              ShowtimeService showtimeService, UserService userService) {
+        this.seatHoldService = seatHoldService;
+        this.ticketService = ticketService;
+        this.showtimeService = showtimeService;
+        this.userService = userService;
+    }
+
+    //  Hold a seat
+    @PostMapping
+    @Operation(summary = "Hold a seat", description = "Temporarily reserve a seat for a user while checkout is completed.")
+    public ResponseEntity<?> holdSeat(
+            @RequestParam String showtimeId,
+            @RequestParam String userId,
+            @RequestParam int seatNumber
+    ) {
+        UUID showtimeUUID = UUID.fromString(showtimeId);
+        UUID userUUID = UUID.fromString(userId);
+
+        Optional<ShowtimeDetails> showtime = showtimeService.getShowtimeById(showtimeUUID);
+        Optional<UserDTO> user = userService.getUserById(userUUID);
+
+        if (showtime.isEmpty() || user.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Showtime or User ID.");
+        }
+
+        SeatHold hold = seatHoldService.holdSeat(showtime.get(), user.get(), seatNumber);
+        return ResponseEntity.ok(hold);
+    }
+
+    //  Get an active hold
+    @GetMapping("/{holdId}")
+    @Operation(summary = "Get a seat hold", description = "Retrieve an active seat hold by its ID.")
+    public ResponseEntity<?> getHold(@PathVariable String holdId) {
+        try {
+            UUID uuid = UUID.fromString(holdId);
+            return seatHoldService.getHold(uuid)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid hold ID format.");
+        }
+    }
+
+    //  Extend a hold
+    @PutMapping("/{holdId}/extend")
+    @Operation(summary = "Extend a seat hold", description = "Push the expiry of an active seat hold forward.")
+    public ResponseEntity<?> extendHold(@PathVariable String holdId) {
+        UUID uuid = UUID.fromString(holdId);
+        return ResponseEntity.ok(seatHoldService.extendHold(uuid));
+    }
+
+    //  Release a hold
+    @DeleteMapping("/{holdId}")
+    @Operation(summary = "Release a seat hold", description = "Give up a held seat before it expires.")
+    public ResponseEntity<?> releaseHold(@PathVariable String holdId) {
+        try {
+            UUID uuid = UUID.fromString(holdId);
+            if (seatHoldService.releaseHold(uuid)) {
+                return ResponseEntity.ok("Seat hold released successfully.");
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Hold not found.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid hold ID format.");
+        }
+    }
+
+    //  Confirm a hold into a ticket
+    @PostMapping("/{holdId}/confirm")
+    @Operation(summary = "Confirm a seat hold", description = "Book a ticket for the held seat.")
+    public ResponseEntity<?> confirmHold(@PathVariable String holdId, @RequestParam double price) {
+        UUID uuid = UUID.fromString(holdId);
+        Optional<SeatHold> hold = seatHoldService.getHold(uuid);
+
+        if (hold.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Hold not found or already expired.");
+        }
+
+        Optional<ShowtimeDetails> showtime = showtimeService.getShowtimeById(hold.get().showtimeId());
+        Optional<UserDTO> user = userService.getUserById(hold.get().userId());
+
+        if (showtime.isEmpty() || user.isEmpty()) {
+            seatHoldService.releaseHold(uuid);
+            return ResponseEntity.badRequest().body("Invalid Showtime or User ID.");
+        }
+
+        Ticket bookedTicket = ticketService.confirmHold(uuid, showtime.get(), user.get(), price);
+        return ResponseEntity.ok(TicketDTO.from(bookedTicket, showtime.get(), user.get()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.movie.ticketbooking.api;
+
+import com.movie.ticketbooking.service.SyntheticDataGenerator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/seed")
+@Tag(name = "Seed API", description = "Endpoints for following synthetic data generation")
+public class SeedController {
+
+    private final SyntheticDataGenerator syntheticDataGenerator;
+
+    public SeedController(SyntheticDataGenerator syntheticDataGenerator) {
+        this.syntheticDataGenerator = syntheticDataGenerator;
+    }
+
+    //  Get the seeding progress
+    @GetMapping("/progress")
+    @Operation(summary = "Get seeding progress", description = "Current phase, completed chunks and rows written by the data generator.")
+    public SyntheticDataGenerator.Progress getProgress() {
+        return syntheticDataGenerator.getProgress();
+    }
+}
@@ -1,18 +1,30 @@
 package com.movie.ticketbooking.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.ticketbooking.dto.HallDTO;
+import com.movie.ticketbooking.dto.MovieDTO;
+import com.movie.ticketbooking.dto.ShowtimeDetails;
 import com.movie.ticketbooking.dto.ShowtimeRequestDTO;
+import com.movie.ticketbooking.dto.ShowtimeSearchCriteria;
+import com.movie.ticketbooking.dto.ShowtimeSummaryDTO;
 import com.movie.ticketbooking.model.Hall;
-import com.movie.ticketbooking.model.Showtime;
-import com.movie.ticketbooking.model.Movie;
 import com.movie.ticketbooking.service.ShowtimeService;
 import com.movie.ticketbooking.service.MovieService;
 import com.movie.ticketbooking.service.HallService;
+import com.movie.ticketbooking.service.OccupancyService;
+import com.movie.ticketbooking.service.SeatInventoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,18 +36,63 @@ public class ShowtimeController {
     private final ShowtimeService showtimeService;
     private final MovieService movieService;
     private final HallService hallService;
+    private final SeatInventoryService seatInventoryService;
+    private final OccupancyService occupancyService;
+    private final ObjectMapper objectMapper;
 
-    public ShowtimeController(ShowtimeService showtimeService, MovieService movieService, HallService hallService) {
+    public ShowtimeController(ShowtimeService showtimeService, MovieService movieService, HallService hallService,
+                              SeatInventoryService seatInventoryService, OccupancyService occupancyService,
+                              ObjectMapper objectMapper) {
         this.showtimeService = showtimeService;
         this.movieService = movieService;
         this.hallService = hallService;
+        this.seatInventoryService = seatInventoryService;
+        this.occupancyService = occupancyService;
+        this.objectMapper = objectMapper;
     }
 
     //  Get all showtimes
     @GetMapping
-    @Operation(summary = "Get all showtimes", description = "Retrieve a list of all scheduled showtimes.")
-    public ResponseEntity<List<Showtime>> getAllShowtimes() {
-        return ResponseEntity.ok(showtimeService.getAllShowtimes());
+    @Operation(summary = "Get all showtimes", description = "Retrieve a list of all scheduled showtimes. Pass `limit` (and `after`) for keyset pagination; the next cursor is returned in the X-Next-Cursor header.")
+    public ResponseEntity<?> getAllShowtimes(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(showtimeService.getAllShowtimes());
+        }
+        try {
+            return ApiPaging.page(showtimeService.getShowtimesPage(ApiPaging.cursor(after), ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor or limit.");
+        }
+    }
+
+    //  Stream all showtimes
+    @GetMapping(value = "/stream", produces = ApiPaging.NDJSON)
+    @Operation(summary = "Stream all showtimes", description = "Stream every showtime as newline-delimited JSON.")
+    public ResponseEntity<StreamingResponseBody> streamAllShowtimes() {
+        return ApiPaging.ndjson(objectMapper, showtimeService::streamAllShowtimes);
+    }
+
+    //  Search showtimes
+    @GetMapping("/search")
+    @Operation(summary = "Search showtimes", description = "Retrieve up to `limit` showtimes with `from` <= startTime < `to` in time order, filtered by any of `movieId`, `theaterId` and `hallId` (at least one is required) and optionally `genre`. Returns flat summaries with the movie, theater and hall names.")
+    public ResponseEntity<?> searchShowtimes(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) UUID movieId,
+            @RequestParam(required = false) UUID theaterId,
+            @RequestParam(required = false) UUID hallId,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(showtimeService.searchShowtimes(new ShowtimeSearchCriteria(
+                    movieId, theaterId, hallId, genre, from, to, ApiPaging.limit(limit))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     //  Get a specific showtime by ID
@@ -44,8 +101,36 @@ public class ShowtimeController {
     public ResponseEntity<?> getShowtimeById(@PathVariable String showtimeId) {
         try {
             UUID uuid = UUID.fromString(showtimeId);
-            Optional<Showtime> showtime = showtimeService.getShowtimeById(uuid);
-            return showtime.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+            Optional<ShowtimeDetails> showtime = showtimeService.getShowtimeById(uuid);
+            return showtime.map(s -> ResponseEntity.ok(ShowtimeSummaryDTO.from(s))).orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid UUID format.");
+        }
+    }
+
+    //  Get the seat map of a showtime
+    @GetMapping("/{showtimeId}/seats")
+    @Operation(summary = "Get showtime seat map", description = "Retrieve seat availability of a showtime as run-length encoded ranges of taken seats.")
+    public ResponseEntity<?> getSeatMap(@PathVariable String showtimeId) {
+        try {
+            UUID uuid = UUID.fromString(showtimeId);
+            Optional<ShowtimeDetails> showtime = showtimeService.getShowtimeById(uuid);
+            return showtime.<ResponseEntity<?>>map(s -> ResponseEntity.ok(seatInventoryService.getSeatMap(s)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid UUID format.");
+        }
+    }
+
+    //  Get the occupancy of a showtime
+    @GetMapping("/{showtimeId}/occupancy")
+    @Operation(summary = "Get showtime occupancy", description = "Sold and available seats of a showtime, with sold-out and almost-full flags.")
+    public ResponseEntity<?> getShowtimeOccupancy(@PathVariable String showtimeId) {
+        try {
+            UUID uuid = UUID.fromString(showtimeId);
+            Optional<ShowtimeDetails> showtime = showtimeService.getShowtimeById(uuid);
+            return showtime.<ResponseEntity<?>>map(s -> ResponseEntity.ok(occupancyService.getShowtimeOccupancy(s)))
+                    .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid UUID format.");
         }
@@ -66,57 +151,72 @@ public class ShowtimeController {
 
     //  Create a new showtime
     @PostMapping
-    @Operation(summary = "Create a new showtime", description = "Schedule a new movie showtime in a specific hall.")
+    @Operation(summary = "Create a new showtime", description = "Schedule a new movie showtime in a specific hall. Fails with 409 if the hall is already in use during that time.")
     public ResponseEntity<?> createShowtime(@RequestBody ShowtimeRequestDTO requestDTO) {
-        try {
-            UUID movieId = UUID.fromString(requestDTO.getMovieId());
-            UUID hallId = UUID.fromString(requestDTO.getHallId());
+        UUID movieId = UUID.fromString(requestDTO.getMovieId());
+        UUID hallId = UUID.fromString(requestDTO.getHallId());
 
-            Optional<Movie> movie = movieService.getMovieById(movieId);
-            Optional<Hall> hall = hallService.getHallById(hallId);
+        Optional<MovieDTO> movie = movieService.getMovieById(movieId);
+        Optional<HallDTO> hall = hallService.getHallById(hallId);
 
-            if (movie.isEmpty() || hall.isEmpty()) {
-                return ResponseEntity.badRequest().body("Invalid Movie or Hall ID.");
-            }
+        if (movie.isEmpty() || hall.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Movie or Hall ID.");
+        }
 
-            Showtime newShowtime = new Showtime(
-                    movie.get(),
-                    hall.get().getTheater(),
-                    hall.get(),
-                    requestDTO.getStartTime(),
-                    requestDTO.getEndTime()
-            );
+        ShowtimeDetails newShowtime = new ShowtimeDetails(
+                null,
+                requestDTO.getStartTime(),
+                requestDTO.getEndTime(),
+                movie.get(),
+                hall.get()
+        );
 
-            return ResponseEntity.ok(showtimeService.addShowtime(newShowtime));
+        return ResponseEntity.ok(ShowtimeSummaryDTO.from(showtimeService.addShowtime(newShowtime)));
+    }
 
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body("Invalid UUID format.");
+    //  Create many showtimes at once
+    @PostMapping("/bulk")
+    @Operation(summary = "Create showtimes in bulk", description = "Schedule a whole season in one batched, all-or-nothing request. Hall conflicts (with scheduled showtimes or within the request) are returned as 409 with one entry per rejected showtime; otherwise the IDs of the created showtimes are returned in request order.")
+    public ResponseEntity<?> createShowtimes(@RequestBody List<ShowtimeRequestDTO> requestDTOs) {
+        Map<UUID, Optional<MovieDTO>> movies = new HashMap<>();
+        Map<UUID, Optional<HallDTO>> halls = new HashMap<>();
+        List<ShowtimeDetails> showtimes = new ArrayList<>(requestDTOs.size());
+
+        for (ShowtimeRequestDTO requestDTO : requestDTOs) {
+            Optional<MovieDTO> movie = movies.computeIfAbsent(
+                    UUID.fromString(requestDTO.getMovieId()), movieService::getMovieById);
+            Optional<HallDTO> hall = halls.computeIfAbsent(
+                    UUID.fromString(requestDTO.getHallId()), hallService::getHallById);
+
+            if (movie.isEmpty() || hall.isEmpty()) {
+                return ResponseEntity.badRequest().body("Invalid Movie or Hall ID: "
+                        + requestDTO.getMovieId() + ", " + requestDTO.getHallId());
+            }
+            showtimes.add(new ShowtimeDetails(null, requestDTO.getStartTime(), requestDTO.getEndTime(),
+                    movie.get(), hall.get()));
         }
+
+        return ResponseEntity.ok(showtimeService.addShowtimes(showtimes));
     }
 
     //  Update an existing showtime
     @PutMapping("/{showtimeId}")
     @Operation(summary = "Update a showtime", description = "Modify the details of an existing showtime.")
     public ResponseEntity<?> updateShowtime(@PathVariable String showtimeId, @RequestBody ShowtimeRequestDTO requestDTO) {
-        try {
-            UUID uuid = UUID.fromString(showtimeId);
-            UUID movieId = UUID.fromString(requestDTO.getMovieId());
-            UUID hallId = UUID.fromString(requestDTO.getHallId());
-
-            Optional<Movie> movie = movieService.getMovieById(movieId);
-            Optional<Hall> hall = hallService.getHallById(hallId);
-
-            if (movie.isEmpty() || hall.isEmpty()) {
-                return ResponseEntity.badRequest().body("Invalid Movie or Hall ID.");
-            }
+        UUID uuid = UUID.fromString(showtimeId);
+        UUID movieId = UUID.fromString(requestDTO.getMovieId());
+        UUID hallId = UUID.fromString(requestDTO.getHallId());
 
-            return showtimeService.updateShowtime(uuid, requestDTO, movie.get(), hall.get())
-                    .map(ResponseEntity::ok)
-                    .orElse(ResponseEntity.notFound().build());
+        Optional<MovieDTO> movie = movieService.getMovieById(movieId);
+        Optional<HallDTO> hall = hallService.getHallById(hallId);
 
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body("Invalid UUID format.");
+        if (movie.isEmpty() || hall.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Movie or Hall ID.");
         }
+
+        return showtimeService.updateShowtime(uuid, requestDTO, movie.get(), hall.get())
+                .map(s -> ResponseEntity.ok(ShowtimeSummaryDTO.from(s)))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     //  Delete a showtime
@@ -1,12 +1,15 @@
 package com.movie.ticketbooking.api;
 
 import com.movie.ticketbooking.model.Theater;
+import com.movie.ticketbooking.service.OccupancyService;
 import com.movie.ticketbooking.service.TheaterService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,9 +20,11 @@ import java.util.UUID;
 public class TheaterController {
 
     private final TheaterService theaterService;
+    private final OccupancyService occupancyService;
 
-    public TheaterController(TheaterService theaterService) {
+    public TheaterController(TheaterService theaterService, OccupancyService occupancyService) {
         this.theaterService = theaterService;
+        this.occupancyService = occupancyService;
     }
 
     // Get all theaters
@@ -45,6 +50,31 @@ public class TheaterController {
         }
     }
 
+    //  Get the occupancy of a theater's showtimes
+    @GetMapping("/{theaterId}/occupancy")
+    @Operation(summary = "Get theater occupancy", description = "Sold seats of up to `limit` showtimes of the theater starting in [`from`, `to`) (default: the next 7 days), with totals and sold-out / almost-full counts.")
+    public ResponseEntity<?> getTheaterOccupancy(
+            @PathVariable String theaterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit
+    ) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(theaterId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid theater ID format.");
+        }
+        if (theaterService.getTheaterById(uuid).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(occupancyService.getTheaterOccupancy(uuid, from, to, ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // Create a new theater
     @PostMapping
     @Operation(summary = "Create a new theater", description = "Add a new theater to the system.")
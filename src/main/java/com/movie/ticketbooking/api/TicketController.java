@@ -1,18 +1,25 @@
 package com.movie.ticketbooking.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import com.movie.ticketbooking.dto.TicketDTO;
+import com.movie.ticketbooking.dto.TicketImportDTO;
+import com.movie.ticketbooking.dto.UserDTO;
 import com.movie.ticketbooking.model.Ticket;
-import com.movie.ticketbooking.model.Showtime;
-import com.movie.ticketbooking.model.User;
 import com.movie.ticketbooking.service.TicketService;
 import com.movie.ticketbooking.service.ShowtimeService;
 import com.movie.ticketbooking.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,18 +31,38 @@ public class TicketController {
     private final TicketService ticketService;
     private final ShowtimeService showtimeService;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
-    public TicketController(TicketService ticketService, ShowtimeService showtimeService, UserService userService) {
+    public TicketController(TicketService ticketService, ShowtimeService showtimeService, UserService userService,
+                            ObjectMapper objectMapper) {
         this.ticketService = ticketService;
         this.showtimeService = showtimeService;
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     //  Get all tickets
     @GetMapping
-    @Operation(summary = "Get all tickets", description = "Retrieve a list of all booked tickets.")
-    public ResponseEntity<List<Ticket>> getAllTickets() {
-        return ResponseEntity.ok(ticketService.getAllTickets());
+    @Operation(summary = "Get all tickets", description = "Retrieve a list of all booked tickets. Pass `limit` (and `after`) for keyset pagination; the next cursor is returned in the X-Next-Cursor header.")
+    public ResponseEntity<?> getAllTickets(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(ticketService.getAllTickets());
+        }
+        try {
+            return ApiPaging.page(ticketService.getTicketsPage(ApiPaging.cursor(after), ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor or limit.");
+        }
+    }
+
+    //  Stream all tickets
+    @GetMapping(value = "/stream", produces = ApiPaging.NDJSON)
+    @Operation(summary = "Stream all tickets", description = "Stream every ticket as newline-delimited JSON.")
+    public ResponseEntity<StreamingResponseBody> streamAllTickets() {
+        return ApiPaging.ndjson(objectMapper, ticketService::streamAllTickets);
     }
 
     //  Get all tickets for a specific user
@@ -44,13 +71,13 @@ public class TicketController {
     public ResponseEntity<?> getAllTicketsByUser(@PathVariable String userId) {
         try {
             UUID uuid = UUID.fromString(userId);
-            Optional<User> user = userService.getUserById(uuid);
+            Optional<UserDTO> user = userService.getUserById(uuid);
 
             if (user.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
             }
 
-            List<Ticket> userTickets = ticketService.getTicketsByUser(user.get());
+            List<TicketDTO> userTickets = ticketService.getTicketsByUser(user.get());
             return ResponseEntity.ok(userTickets);
 
         } catch (IllegalArgumentException e) {
@@ -65,7 +92,7 @@ public class TicketController {
     public ResponseEntity<?> getTicketById(@PathVariable String ticketId) {
         try {
             UUID uuid = UUID.fromString(ticketId);
-            Optional<Ticket> ticket = ticketService.getTicketById(uuid);
+            Optional<TicketDTO> ticket = ticketService.getTicketById(uuid);
 
             return ticket.map(ResponseEntity::ok)
                     .orElseGet(() -> ResponseEntity.notFound().build());
@@ -83,45 +110,106 @@ public class TicketController {
             @RequestParam int seatNumber,
             @RequestParam double price
     ) {
-        try {
-            UUID showtimeUUID = UUID.fromString(showtimeId);
-            UUID userUUID = UUID.fromString(userId);
+        UUID showtimeUUID = UUID.fromString(showtimeId);
+        UUID userUUID = UUID.fromString(userId);
 
-            Optional<Showtime> showtime = showtimeService.getShowtimeById(showtimeUUID);
-            Optional<User> user = userService.getUserById(userUUID);
+        Optional<ShowtimeDetails> showtime = showtimeService.getShowtimeById(showtimeUUID);
+        Optional<UserDTO> user = userService.getUserById(userUUID);
 
-            if (showtime.isEmpty() || user.isEmpty()) {
-                return ResponseEntity.badRequest().body("Invalid Showtime or User ID.");
-            }
+        if (showtime.isEmpty() || user.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Showtime or User ID.");
+        }
 
-            Ticket bookedTicket = ticketService.bookTicket(showtime.get(), user.get(), seatNumber, price);
-            return ResponseEntity.ok(bookedTicket);
+        Ticket bookedTicket = ticketService.bookTicket(showtime.get(), user.get(), seatNumber, price);
+        return ResponseEntity.ok(TicketDTO.from(bookedTicket, showtime.get(), user.get()));
+    }
 
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body("Invalid UUID format.");
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+    //  Book several seats at once
+    @PostMapping("/book-group")
+    @Operation(summary = "Book a group of tickets", description = "Book several seats of one showtime for a user in a single all-or-nothing request.")
+    public ResponseEntity<?> bookTickets(
+            @RequestParam String showtimeId,
+            @RequestParam String userId,
+            @RequestParam List<Integer> seatNumbers,
+            @RequestParam double price
+    ) {
+        UUID showtimeUUID = UUID.fromString(showtimeId);
+        UUID userUUID = UUID.fromString(userId);
+
+        Optional<ShowtimeDetails> showtime = showtimeService.getShowtimeById(showtimeUUID);
+        Optional<UserDTO> user = userService.getUserById(userUUID);
+
+        if (showtime.isEmpty() || user.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Showtime or User ID.");
+        }
+
+        List<Ticket> bookedTickets = ticketService.bookTickets(showtime.get(), user.get(), seatNumbers, price);
+        return ResponseEntity.ok(bookedTickets.stream()
+                .map(ticket -> TicketDTO.from(ticket, showtime.get(), user.get()))
+                .toList());
+    }
+
+    //  Book the best available adjacent seats
+    @PostMapping("/book-best")
+    @Operation(summary = "Book best available seats", description = "Book the best block of adjacent free seats for a given showtime and user.")
+    public ResponseEntity<?> bookBestSeats(
+            @RequestParam String showtimeId,
+            @RequestParam String userId,
+            @RequestParam int count,
+            @RequestParam double price
+    ) {
+        UUID showtimeUUID = UUID.fromString(showtimeId);
+        UUID userUUID = UUID.fromString(userId);
+
+        Optional<ShowtimeDetails> showtime = showtimeService.getShowtimeById(showtimeUUID);
+        Optional<UserDTO> user = userService.getUserById(userUUID);
+
+        if (showtime.isEmpty() || user.isEmpty()) {
+            return ResponseEntity.badRequest().body("Invalid Showtime or User ID.");
         }
+
+        List<Ticket> bookedTickets = ticketService.bookBestSeats(showtime.get(), user.get(), count, price);
+        return ResponseEntity.ok(bookedTickets.stream()
+                .map(ticket -> TicketDTO.from(ticket, showtime.get(), user.get()))
+                .toList());
+    }
+
+    //  Import already sold tickets in bulk
+    @PostMapping("/import")
+    @Operation(summary = "Import tickets", description = "Import a list of sold tickets in one all-or-nothing batch. Returns the IDs of the created tickets in request order.")
+    public ResponseEntity<?> importTickets(@RequestBody List<TicketImportDTO> requestDTOs) {
+        Map<UUID, Optional<ShowtimeDetails>> showtimes = new HashMap<>();
+        Map<UUID, Optional<UserDTO>> users = new HashMap<>();
+        List<TicketService.ImportedTicket> tickets = new ArrayList<>(requestDTOs.size());
+
+        for (TicketImportDTO requestDTO : requestDTOs) {
+            Optional<ShowtimeDetails> showtime = showtimes.computeIfAbsent(
+                    UUID.fromString(requestDTO.getShowtimeId()), showtimeService::getShowtimeById);
+            Optional<UserDTO> user = users.computeIfAbsent(
+                    UUID.fromString(requestDTO.getUserId()), userService::getUserById);
+
+            if (showtime.isEmpty() || user.isEmpty()) {
+                return ResponseEntity.badRequest().body("Invalid Showtime or User ID: "
+                        + requestDTO.getShowtimeId() + ", " + requestDTO.getUserId());
+            }
+            tickets.add(new TicketService.ImportedTicket(showtime.get(), user.get().id(),
+                    requestDTO.getSeatNumber(), requestDTO.getPrice()));
+        }
+
+        return ResponseEntity.ok(ticketService.importTickets(tickets));
     }
 
     //  Cancel a ticket
     @DeleteMapping("/{ticketId}")
     @Operation(summary = "Cancel a ticket", description = "Cancel a booked ticket using its ID.")
     public ResponseEntity<?> cancelTicket(@PathVariable String ticketId) {
-        try {
-            UUID uuid = UUID.fromString(ticketId);
-            boolean isCancelled = ticketService.cancelTicket(uuid);
-
-            if (isCancelled) {
-                return ResponseEntity.ok("Ticket cancelled successfully.");
-            } else {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Ticket not found.");
-            }
+        UUID uuid = UUID.fromString(ticketId);
+        boolean isCancelled = ticketService.cancelTicket(uuid);
 
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body("Invalid ticket ID format.");
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+        if (isCancelled) {
+            return ResponseEntity.ok("Ticket cancelled successfully.");
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Ticket not found.");
         }
     }
 
@@ -132,15 +220,8 @@ public class TicketController {
             @PathVariable String ticketId,
             @RequestParam int newSeatNumber
     ) {
-        try {
-            UUID uuid = UUID.fromString(ticketId);
-            Ticket updatedTicket = ticketService.changeSeat(uuid, newSeatNumber);
-            return ResponseEntity.ok(updatedTicket);
-
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body("Invalid ticket ID format.");
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
-        }
+        UUID uuid = UUID.fromString(ticketId);
+        Ticket updatedTicket = ticketService.changeSeat(uuid, newSeatNumber);
+        return ResponseEntity.ok(TicketDTO.from(updatedTicket));
     }
 }
@@ -1,12 +1,19 @@
 package com.movie.ticketbooking.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.ticketbooking.dto.TicketEventMonthDTO;
 import com.movie.ticketbooking.model.TicketEvent;
 import com.movie.ticketbooking.service.TicketEventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
@@ -15,14 +22,81 @@ import java.util.List;
 public class TicketEventController {
 
     private final TicketEventService ticketEventService;
+    private final ObjectMapper objectMapper;
 
-    public TicketEventController(TicketEventService ticketEventService) {
+    public TicketEventController(TicketEventService ticketEventService, ObjectMapper objectMapper) {
         this.ticketEventService = ticketEventService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    @Operation(summary = "Get all ticket events", description = "Retrieve a list of all ticket-related events.")
-    public ResponseEntity<List<TicketEvent>> getAllTicketEvents() {
-        return ResponseEntity.ok(ticketEventService.getAllTicketEvents());
+    @Operation(summary = "Get all ticket events", description = "Retrieve a list of all ticket-related events. Pass `limit` (and `after`) for keyset pagination; the next cursor is returned in the X-Next-Cursor header.")
+    public ResponseEntity<?> getAllTicketEvents(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(ticketEventService.getAllTicketEvents());
+        }
+        try {
+            return ApiPaging.page(ticketEventService.getTicketEventsPage(ApiPaging.cursor(after), ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor or limit.");
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = ApiPaging.NDJSON)
+    @Operation(summary = "Stream all ticket events", description = "Stream every ticket event as newline-delimited JSON.")
+    public ResponseEntity<StreamingResponseBody> streamAllTicketEvents() {
+        return ApiPaging.ndjson(objectMapper, ticketEventService::streamAllTicketEvents);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search ticket events", description = "Retrieve up to `limit` events with `from` <= eventTime < `to` in time order, optionally filtered by `eventType`. Served from the (month, event time) index.")
+    public ResponseEntity<?> searchTicketEvents(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(ticketEventService.findTicketEvents(from, to, eventType, ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/search/stream", produces = ApiPaging.NDJSON)
+    @Operation(summary = "Stream ticket events in a time range", description = "Stream every event with `from` <= eventTime < `to` as newline-delimited JSON, optionally filtered by `eventType`.")
+    public ResponseEntity<StreamingResponseBody> streamTicketEvents(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String eventType
+    ) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ApiPaging.<TicketEvent>ndjson(objectMapper,
+                consumer -> ticketEventService.streamTicketEvents(from, to, eventType, consumer));
+    }
+
+    @GetMapping("/months")
+    @Operation(summary = "Get ticket event months", description = "List the months of the event log with their event counts and time spans.")
+    public List<TicketEventMonthDTO> getMonths() {
+        return ticketEventService.getMonths();
+    }
+
+    @DeleteMapping("/months/{month}")
+    @Operation(summary = "Delete a month of ticket events",
+            description = "Delete all events of one month, given as yyyy-MM. Rows are deleted through the "
+                    + "month index in batches of booking.events.delete-batch-size (one transaction each), "
+                    + "so it takes time proportional to the month's size.")
+    public ResponseEntity<?> deleteMonth(@PathVariable String month) {
+        try {
+            int deleted = ticketEventService.deleteMonth(YearMonth.parse(month));
+            return ResponseEntity.ok("Deleted " + deleted + " events of " + month + ".");
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid month format, expected yyyy-MM.");
+        }
     }
 }
@@ -1,13 +1,15 @@
 package com.movie.ticketbooking.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.movie.ticketbooking.dto.UserDTO;
 import com.movie.ticketbooking.model.User;
 import com.movie.ticketbooking.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,16 +19,35 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     // Get all users
     @GetMapping
-    @Operation(summary = "Get all users", description = "Retrieve a list of all registered users.")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    @Operation(summary = "Get all users", description = "Retrieve a list of all registered users. Pass `limit` (and `after`) for keyset pagination; the next cursor is returned in the X-Next-Cursor header.")
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(userService.getAllUsers());
+        }
+        try {
+            return ApiPaging.page(userService.getUsersPage(ApiPaging.cursor(after), ApiPaging.limit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor or limit.");
+        }
+    }
+
+    // Stream all users
+    @GetMapping(value = "/stream", produces = ApiPaging.NDJSON)
+    @Operation(summary = "Stream all users", description = "Stream every user as newline-delimited JSON.")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return ApiPaging.ndjson(objectMapper, userService::streamAllUsers);
     }
 
     // Get a specific user by ID
@@ -35,7 +56,7 @@ public class UserController {
     public ResponseEntity<?> getUserById(@PathVariable String id) {
         try {
             UUID uuid = UUID.fromString(id);
-            Optional<User> user = userService.getUserById(uuid);
+            Optional<UserDTO> user = userService.getUserById(uuid);
 
             return user.map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
@@ -47,8 +68,8 @@ public class UserController {
     // Create a new user
     @PostMapping
     @Operation(summary = "Create a new user", description = "Register a new user in the system.")
-    public ResponseEntity<User> createUser(@RequestBody User user) {
-        return ResponseEntity.ok(userService.saveUser(user));
+    public ResponseEntity<UserDTO> createUser(@RequestBody User user) {
+        return ResponseEntity.ok(UserDTO.from(userService.saveUser(user)));
     }
 
     // Update an existing user
@@ -59,7 +80,7 @@ public class UserController {
             UUID uuid = UUID.fromString(id);
             Optional<User> updatedUser = userService.updateUser(uuid, userDetails);
 
-            return updatedUser.map(ResponseEntity::ok)
+            return updatedUser.map(u -> ResponseEntity.ok(UserDTO.from(u)))
                     .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid user ID format.");
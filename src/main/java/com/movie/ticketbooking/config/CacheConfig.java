@@ -0,0 +1,36 @@
+package com.movie.ticketbooking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read-through caches for reference data looked up on every booking.
+ * Each cache is bounded in size and entries expire after a TTL ({@code booking.cache.spec}).
+ * Size eviction is Caffeine's W-TinyLFU rather than plain LRU: it weighs how often an entry is read as well as
+ * how recently, so a burst of one-off lookups cannot push out hot showtimes. Kept deliberately in place of LRU.
+ * Entries are immutable records rather than JPA entities, so a cached value is safe to share between
+ * requests; writes reference the cached rows by ID ({@code getReferenceById}) instead of attaching them.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SHOWTIMES = "showtimes";
+    public static final String HALLS = "halls";
+    public static final String MOVIES = "movies";
+    public static final String USERS = "users";
+
+    // Evictions inside a transaction are applied after commit, so a concurrent read cannot re-cache the old row
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${booking.cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(SHOWTIMES, HALLS, MOVIES, USERS);
+        cacheManager.setCacheSpecification(spec);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
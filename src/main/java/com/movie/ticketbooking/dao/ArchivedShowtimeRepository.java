@@ -0,0 +1,43 @@
+package com.movie.ticketbooking.dao;
+
+import com.movie.ticketbooking.dto.ShowtimeSummaryDTO;
+import com.movie.ticketbooking.model.ArchivedShowtime;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedShowtimeRepository extends JpaRepository<ArchivedShowtime, UUID> {
+
+    // Selects ShowtimeSummaryDTO rows for archived showtime s, append WHERE/ORDER BY clauses
+    String VIEW_QUERY = "SELECT new com.movie.ticketbooking.dto.ShowtimeSummaryDTO(s.id, s.startTime, s.endTime, " +
+            "s.movieId, s.movieTitle, s.genre, s.duration, s.theaterId, s.theaterName, s.theaterLocation, " +
+            "s.hallId, s.hallName) FROM ArchivedShowtime s ";
+
+    // Copy the given showtimes with their movie, theater and hall details, in one INSERT ... SELECT
+    @Modifying
+    @Query("INSERT INTO ArchivedShowtime (id, startTime, endTime, movieId, movieTitle, genre, duration, " +
+            "theaterId, theaterName, theaterLocation, hallId, hallName, archivedAt) " +
+            "SELECT s.id, s.startTime, s.endTime, m.id, m.title, m.genre, m.duration, " +
+            "t.id, t.name, t.location, h.id, h.name, :archivedAt " +
+            "FROM Showtime s JOIN s.movie m JOIN s.theater t JOIN s.hall h WHERE s.id IN :showtimeIds")
+    int archive(@Param("showtimeIds") Collection<UUID> showtimeIds, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Query(VIEW_QUERY + "WHERE s.id = :id")
+    Optional<ShowtimeSummaryDTO> findViewById(@Param("id") UUID id);
+
+    // Archived showtimes starting in [from, to), optionally of one movie
+    @Query(VIEW_QUERY + "WHERE s.startTime >= :from AND s.startTime < :to " +
+            "AND (:movieId IS NULL OR s.movieId = :movieId) ORDER BY s.startTime, s.id")
+    List<ShowtimeSummaryDTO> findViewsInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                              @Param("movieId") UUID movieId, Limit limit);
+}
@@ -0,0 +1,40 @@
+package com.movie.ticketbooking.dao;
+
+import com.movie.ticketbooking.dto.TicketDTO;
+import com.movie.ticketbooking.model.ArchivedTicket;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, UUID> {
+
+    // Selects TicketDTO rows for archived ticket a, append WHERE/ORDER BY clauses
+    String VIEW_QUERY = "SELECT new com.movie.ticketbooking.dto.TicketDTO(a.id, a.seatNumber, a.price, a.userId, u.name, " +
+            "s.id, s.startTime, s.endTime, s.movieId, s.movieTitle, s.theaterId, s.theaterName, s.hallId, s.hallName) " +
+            "FROM ArchivedTicket a JOIN ArchivedShowtime s ON s.id = a.showtimeId LEFT JOIN User u ON u.id = a.userId ";
+
+    // Copy every ticket of the given showtimes, in one INSERT ... SELECT
+    @Modifying
+    @Query("INSERT INTO ArchivedTicket (id, showtimeId, userId, seatNumber, price) " +
+            "SELECT t.id, t.showtime.id, t.user.id, t.seatNumber, t.price FROM Ticket t WHERE t.showtime.id IN :showtimeIds")
+    int archive(@Param("showtimeIds") Collection<UUID> showtimeIds);
+
+    @Query(VIEW_QUERY + "WHERE a.id = :id")
+    Optional<TicketDTO> findViewById(@Param("id") UUID id);
+
+    // A user's archived tickets, most recent showtime first
+    @Query(VIEW_QUERY + "WHERE a.userId = :userId ORDER BY s.startTime DESC, a.id")
+    List<TicketDTO> findViewsByUserId(@Param("userId") UUID userId, Limit limit);
+
+    @Query(VIEW_QUERY + "WHERE a.showtimeId = :showtimeId ORDER BY a.seatNumber")
+    List<TicketDTO> findViewsByShowtimeId(@Param("showtimeId") UUID showtimeId);
+}
@@ -0,0 +1,12 @@
+package com.movie.ticketbooking.dao;
+
+import java.util.List;
+
+/**
+ * Repository fragment for inserting large lists of new entities in JDBC batches.
+ */
+public interface BatchInsertRepository<T> {
+
+    // Persist new entities batch by batch, each full batch is detached once it is flushed
+    List<T> insertAll(List<T> entities);
+}
@@ -0,0 +1,39 @@
+package com.movie.ticketbooking.dao;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Persists entities and flushes every {@code booking.jdbc.batch-size} of them, so Hibernate sends
+ * each batch as one JDBC batch (inserts are ordered by entity type). Detaching each flushed batch keeps
+ * dirty checking and heap use flat for any list size; entities the caller's transaction loaded or changed
+ * stay managed, so their pending changes are still flushed.
+ */
+public class BatchInsertRepositoryImpl<T> implements BatchInsertRepository<T> {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public BatchInsertRepositoryImpl(EntityManager entityManager,
+                                     @Value("${booking.jdbc.batch-size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public List<T> insertAll(List<T> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entities.subList(i + 1 - batchSize, i + 1).forEach(entityManager::detach);
+            }
+        }
+        entityManager.flush();
+        return entities;
+    }
+}
@@ -2,14 +2,30 @@ package com.movie.ticketbooking.dao;
 
 import com.movie.ticketbooking.model.Hall;
 import com.movie.ticketbooking.model.Theater;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface HallRepository extends JpaRepository<Hall, UUID> {
+public interface HallRepository extends KeysetRepository<Hall> {
     boolean existsByNameAndTheaterId(String name, UUID theaterId);
+    // Hall with its theater, as cached for scheduling showtimes
+    @EntityGraph(attributePaths = "theater")
+    Optional<Hall> findWithTheaterById(UUID id);
     // Find all halls belonging to a given theater
     List<Hall> findByTheater(Theater theater);
+    @Query("SELECT h.id FROM Hall h WHERE h.theater.id = :theaterId")
+    List<UUID> findIdsByTheaterId(@Param("theaterId") UUID theaterId);
+    // Set-based deletes, the halls' showtimes must be gone already
+    @Modifying
+    @Query("DELETE FROM Hall h WHERE h.id = :id")
+    int bulkDeleteById(@Param("id") UUID id);
+    @Modifying
+    @Query("DELETE FROM Hall h WHERE h.theater.id = :theaterId")
+    int bulkDeleteByTheaterId(@Param("theaterId") UUID theaterId);
 }
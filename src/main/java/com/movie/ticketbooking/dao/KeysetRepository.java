@@ -0,0 +1,38 @@
+package com.movie.ticketbooking.dao;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Base repository for entities with UUID keys that adds keyset (seek) pagination over the ID
+ * and a cursor-backed stream for full scans.
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T> extends JpaRepository<T, UUID> {
+
+    List<T> findAllByOrderByIdAsc(Limit limit);
+
+    List<T> findByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
+
+    // Must be consumed inside a transaction, rows are fetched from an open cursor
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<T> streamAllBy();
+
+    // Next page of at most `limit` rows whose ID is greater than `after` (first page when null)
+    default List<T> findPageAfter(UUID after, int limit) {
+        return after == null
+                ? findAllByOrderByIdAsc(Limit.of(limit))
+                : findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+    }
+}
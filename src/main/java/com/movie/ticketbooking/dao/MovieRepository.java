@@ -1,10 +1,8 @@
 package com.movie.ticketbooking.dao;
 
 import com.movie.ticketbooking.model.Movie;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
-import java.util.UUID;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, UUID> {
+public interface MovieRepository extends KeysetRepository<Movie> {
 }
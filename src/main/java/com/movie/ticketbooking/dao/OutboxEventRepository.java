@@ -0,0 +1,36 @@
+package com.movie.ticketbooking.dao;
+
+import com.movie.ticketbooking.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, BatchInsertRepository<OutboxEvent> {
+
+    // Committed events not yet fanned out to the consumers, whatever their ID relative to earlier ones
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.relayed = false ORDER BY e.id")
+    List<Long> findUnrelayedIds(Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.relayed = true WHERE e.id IN :ids")
+    int markRelayed(@Param("ids") Collection<Long> ids);
+
+    // Next batch of events queued for a consumer, in ID order
+    @Query("SELECT e FROM OutboxEvent e JOIN OutboxPending p ON p.eventId = e.id " +
+            "WHERE p.consumerName = :consumerName ORDER BY p.eventId")
+    List<OutboxEvent> findPending(@Param("consumerName") String consumerName, Limit limit);
+
+    // Remove events every consumer has processed
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.relayed = true AND e.createdAt < :createdBefore " +
+            "AND NOT EXISTS (SELECT 1 FROM OutboxPending p WHERE p.eventId = e.id)")
+    int deleteDelivered(@Param("createdBefore") LocalDateTime createdBefore);
+}
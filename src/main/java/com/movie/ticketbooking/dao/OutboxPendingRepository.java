@@ -0,0 +1,34 @@
+package com.movie.ticketbooking.dao;
+
+import com.movie.ticketbooking.model.OutboxPending;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface OutboxPendingRepository extends JpaRepository<OutboxPending, OutboxPending.Key> {
+
+    //  Queue the given events for a consumer
+    @Modifying
+    @Query("INSERT INTO OutboxPending (consumerName, eventId) " +
+            "SELECT :consumerName, e.id FROM OutboxEvent e WHERE e.id IN :eventIds")
+    int enqueue(@Param("consumerName") String consumerName, @Param("eventIds") Collection<Long> eventIds);
+
+    //  Queue every relayed event from the given ID on for a consumer again, skipping those still queued
+    @Modifying
+    @Query("INSERT INTO OutboxPending (consumerName, eventId) " +
+            "SELECT :consumerName, e.id FROM OutboxEvent e WHERE e.relayed = true AND e.id >= :fromEventId " +
+            "AND NOT EXISTS (SELECT 1 FROM OutboxPending p WHERE p.consumerName = :consumerName AND p.eventId = e.id)")
+    int requeueFrom(@Param("consumerName") String consumerName, @Param("fromEventId") long fromEventId);
+
+    //  Remove events a consumer has processed
+    @Modifying
+    @Query("DELETE FROM OutboxPending p WHERE p.consumerName = :consumerName AND p.eventId IN :eventIds")
+    int dequeue(@Param("consumerName") String consumerName, @Param("eventIds") Collection<Long> eventIds);
+
+    long countByConsumerName(String consumerName);
+}
@@ -1,25 +1,106 @@
 package com.movie.ticketbooking.dao;
 
+import com.movie.ticketbooking.dto.HallSlot;
+import com.movie.ticketbooking.dto.ShowtimeCapacity;
+import com.movie.ticketbooking.dto.ShowtimeSummaryDTO;
+import com.movie.ticketbooking.dto.ShowtimeTicketCount;
 import com.movie.ticketbooking.model.Hall;
 import com.movie.ticketbooking.model.Showtime;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ShowtimeRepository extends JpaRepository<Showtime, UUID> {
+public interface ShowtimeRepository extends KeysetRepository<Showtime>, BatchInsertRepository<Showtime>,
+        ShowtimeSearchRepository {
 
-    //  Fetch all showtimes for a given movie ID
-    List<Showtime> findAllByMovieId(UUID movieId);
+    //  Showtime with its movie, theater and hall, as cached for booking and mapped into responses
+    @EntityGraph(attributePaths = {"movie", "theater", "hall"})
+    Optional<Showtime> findDetailedById(UUID id);
 
     //  Find all halls where a specific movie is screening
     @Query("SELECT DISTINCT s.hall FROM Showtime s WHERE s.movie.id = :movieId")
     List<Hall> findHallsByMovieId(UUID movieId);
 
+    //  IDs of a movie's showtimes, to drop their in-memory state when the movie is deleted
+    @Query("SELECT s.id FROM Showtime s WHERE s.movie.id = :movieId")
+    List<UUID> findIdsByMovieId(@Param("movieId") UUID movieId);
+
+    //  Occupied windows of the given halls overlapping [from, to), ordered by start time
+    @Query("SELECT new com.movie.ticketbooking.dto.HallSlot(s.id, s.hall.id, s.startTime, s.endTime) " +
+            "FROM Showtime s WHERE s.hall.id IN :hallIds AND s.startTime < :to AND s.endTime > :from " +
+            "ORDER BY s.startTime")
+    List<HallSlot> findHallSlots(@Param("hallIds") Collection<UUID> hallIds,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to);
+
+    //  Capacity of the showtimes of a hall starting in [from, to), in time order
+    @Query("SELECT new com.movie.ticketbooking.dto.ShowtimeCapacity(s.id, h.id, s.startTime, h.capacity) " +
+            "FROM Showtime s JOIN s.hall h WHERE h.id = :hallId AND s.startTime >= :from AND s.startTime < :to " +
+            "ORDER BY s.startTime, s.id")
+    List<ShowtimeCapacity> findCapacitiesByHallId(@Param("hallId") UUID hallId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to,
+                                                  Limit limit);
+
+    //  Capacity of the showtimes of a theater starting in [from, to), in time order
+    @Query("SELECT new com.movie.ticketbooking.dto.ShowtimeCapacity(s.id, h.id, s.startTime, h.capacity) " +
+            "FROM Showtime s JOIN s.hall h WHERE s.theater.id = :theaterId AND s.startTime >= :from AND s.startTime < :to " +
+            "ORDER BY s.startTime, s.id")
+    List<ShowtimeCapacity> findCapacitiesByTheaterId(@Param("theaterId") UUID theaterId,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to,
+                                                     Limit limit);
+
+    //  Showtime views ordered by ID, Limit.unlimited() for all of them
+    @Query(VIEW_QUERY + "ORDER BY s.id")
+    List<ShowtimeSummaryDTO> findViews(Limit limit);
+
+    @Query(VIEW_QUERY + "WHERE s.id > :after ORDER BY s.id")
+    List<ShowtimeSummaryDTO> findViewsAfter(@Param("after") UUID after, Limit limit);
+
+    // Must be consumed inside a transaction, rows are fetched from an open cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_QUERY + "ORDER BY s.id")
+    Stream<ShowtimeSummaryDTO> streamViews();
+
+    // Next keyset page of showtime views (first page when after is null)
+    default List<ShowtimeSummaryDTO> findViewPageAfter(UUID after, int limit) {
+        return after == null ? findViews(Limit.of(limit)) : findViewsAfter(after, Limit.of(limit));
+    }
+
+    //  Ticket count of every showtime in the given halls
+    @Query("SELECT new com.movie.ticketbooking.dto.ShowtimeTicketCount(s.id, COUNT(t)) " +
+            "FROM Showtime s LEFT JOIN s.tickets t WHERE s.hall.id IN :hallIds GROUP BY s.id")
+    List<ShowtimeTicketCount> countTicketsByHallIds(@Param("hallIds") Collection<UUID> hallIds);
+
+    //  Set-based delete of the showtimes of the given halls, their tickets must be gone already
+    @Modifying
+    @Query("DELETE FROM Showtime s WHERE s.hall.id IN :hallIds")
+    int bulkDeleteByHallIds(@Param("hallIds") Collection<UUID> hallIds);
+
+    //  Oldest showtimes that ended before the cutoff, for archival
+    @Query("SELECT s.id FROM Showtime s WHERE s.endTime < :cutoff ORDER BY s.endTime, s.id")
+    List<UUID> findIdsEndedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    //  Set-based delete of the given showtimes, their tickets must be gone already
+    @Modifying
+    @Query("DELETE FROM Showtime s WHERE s.id IN :ids")
+    int bulkDeleteByIds(@Param("ids") Collection<UUID> ids);
+
     //  Get all showtimes for a list of halls
     @Query("SELECT s FROM Showtime s WHERE s.hall IN :halls")
     List<Showtime> findAllByHalls(@Param("halls") List<Hall> halls);
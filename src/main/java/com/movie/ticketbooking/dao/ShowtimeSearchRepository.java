@@ -0,0 +1,20 @@
+package com.movie.ticketbooking.dao;
+
+import com.movie.ticketbooking.dto.ShowtimeSearchCriteria;
+import com.movie.ticketbooking.dto.ShowtimeSummaryDTO;
+
+import java.util.List;
+
+/**
+ * Repository fragment for searching showtimes by time window and optional filters.
+ */
+public interface ShowtimeSearchRepository {
+
+    // Selects ShowtimeSummaryDTO rows for showtime s, append WHERE/ORDER BY clauses
+    String VIEW_QUERY = "SELECT new com.movie.ticketbooking.dto.ShowtimeSummaryDTO(s.id, s.startTime, s.endTime, " +
+            "m.id, m.title, m.genre, m.duration, t.id, t.name, t.location, h.id, h.name) " +
+            "FROM Showtime s JOIN s.movie m JOIN s.theater t JOIN s.hall h ";
+
+    // Matching showtimes in start time order, at most criteria.limit() of them
+    List<ShowtimeSummaryDTO> search(ShowtimeSearchCriteria criteria);
+}
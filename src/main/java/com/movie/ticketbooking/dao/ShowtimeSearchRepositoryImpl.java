@@ -0,0 +1,55 @@
+package com.movie.ticketbooking.dao;
+
+import com.movie.ticketbooking.dto.ShowtimeSearchCriteria;
+import com.movie.ticketbooking.dto.ShowtimeSummaryDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the search query from the filters actually given, so each one becomes a plain equality
+ * predicate next to the start time range and the database can answer it with a single range scan
+ * of the matching {@code (movie_id | theater_id | hall_id, startTime)} index. Genre is only a residual
+ * filter on the rows of that scan, the service rejects a search without one of the indexed filters.
+ */
+public class ShowtimeSearchRepositoryImpl implements ShowtimeSearchRepository {
+
+    private final EntityManager entityManager;
+
+    public ShowtimeSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ShowtimeSummaryDTO> search(ShowtimeSearchCriteria criteria) {
+        StringBuilder jpql = new StringBuilder(VIEW_QUERY + "WHERE s.startTime >= :from AND s.startTime < :to");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (criteria.movieId() != null) {
+            jpql.append(" AND s.movie.id = :movieId");
+            parameters.put("movieId", criteria.movieId());
+        }
+        if (criteria.theaterId() != null) {
+            jpql.append(" AND s.theater.id = :theaterId");
+            parameters.put("theaterId", criteria.theaterId());
+        }
+        if (criteria.hallId() != null) {
+            jpql.append(" AND s.hall.id = :hallId");
+            parameters.put("hallId", criteria.hallId());
+        }
+        if (criteria.genre() != null) {
+            jpql.append(" AND LOWER(m.genre) = LOWER(:genre)");
+            parameters.put("genre", criteria.genre());
+        }
+        jpql.append(" ORDER BY s.startTime, s.id");
+
+        TypedQuery<ShowtimeSummaryDTO> query = entityManager.createQuery(jpql.toString(), ShowtimeSummaryDTO.class)
+                .setParameter("from", criteria.from())
+                .setParameter("to", criteria.to())
+                .setMaxResults(criteria.limit());
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
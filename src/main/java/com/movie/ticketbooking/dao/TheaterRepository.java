@@ -2,8 +2,15 @@ package com.movie.ticketbooking.dao;
 
 import com.movie.ticketbooking.model.Theater;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.UUID;
 
 public interface TheaterRepository extends JpaRepository<Theater, UUID> {
+    // Set-based delete, the theater's halls must be gone already
+    @Modifying
+    @Query("DELETE FROM Theater t WHERE t.id = :id")
+    int bulkDeleteById(@Param("id") UUID id);
 }
@@ -1,11 +1,115 @@
 package com.movie.ticketbooking.dao;
 
+import com.movie.ticketbooking.dto.TicketEventMonthDTO;
 import com.movie.ticketbooking.model.TicketEvent;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TicketEventRepository extends JpaRepository<TicketEvent, UUID> {
+public interface TicketEventRepository extends KeysetRepository<TicketEvent> {
+
+    // Listings load each event with its whole ticket in the same statement
+    @Override
+    @EntityGraph(TicketEvent.WITH_TICKET)
+    List<TicketEvent> findAll();
+
+    @Override
+    @EntityGraph(TicketEvent.WITH_TICKET)
+    List<TicketEvent> findAllByOrderByIdAsc(Limit limit);
+
+    @Override
+    @EntityGraph(TicketEvent.WITH_TICKET)
+    List<TicketEvent> findByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
+
+    @Override
+    @EntityGraph(TicketEvent.WITH_TICKET)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TicketEvent> streamAllBy();
+
+    // Unlink events from a ticket that is about to be deleted, the events stay in the audit trail
+    @Modifying
+    @Query("UPDATE TicketEvent e SET e.ticket = null WHERE e.ticket.id = :ticketId")
+    int detachFromTicket(@Param("ticketId") UUID ticketId);
+
+    // Same for every ticket of a showtime in the given halls, before they are deleted in bulk
+    @Modifying
+    @Query("UPDATE TicketEvent e SET e.ticket = null WHERE e.ticket.id IN " +
+            "(SELECT t.id FROM Ticket t WHERE t.showtime.hall.id IN :hallIds)")
+    int detachFromHalls(@Param("hallIds") Collection<UUID> hallIds);
+
+    // Same for every ticket of the given showtimes
+    @Modifying
+    @Query("UPDATE TicketEvent e SET e.ticket = null WHERE e.ticket.id IN " +
+            "(SELECT t.id FROM Ticket t WHERE t.showtime.id IN :showtimeIds)")
+    int detachFromShowtimes(@Param("showtimeIds") Collection<UUID> showtimeIds);
+
+    // Same for every ticket of a user
+    @Modifying
+    @Query("UPDATE TicketEvent e SET e.ticket = null WHERE e.ticket.id IN " +
+            "(SELECT t.id FROM Ticket t WHERE t.user.id = :userId)")
+    int detachFromUser(@Param("userId") UUID userId);
+
+    // Outbox events that already have a ticket event (for idempotent replay)
+    @Query("SELECT e.outboxEventId FROM TicketEvent e WHERE e.outboxEventId IN :outboxEventIds")
+    List<Long> findOutboxEventIds(@Param("outboxEventIds") List<Long> outboxEventIds);
+
+    // Events in [from, to), optionally of one type, narrowed to the month buckets the range covers
+    @EntityGraph(TicketEvent.WITH_TICKET)
+    @Query("SELECT e FROM TicketEvent e WHERE e.eventMonth BETWEEN :fromMonth AND :toMonth " +
+            "AND (:eventType IS NULL OR e.eventType = :eventType) " +
+            "AND e.eventTime >= :from AND e.eventTime < :to ORDER BY e.eventTime, e.id")
+    List<TicketEvent> findInRange(@Param("fromMonth") int fromMonth, @Param("toMonth") int toMonth,
+                                  @Param("eventType") String eventType,
+                                  @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @EntityGraph(TicketEvent.WITH_TICKET)
+    @Query("SELECT e FROM TicketEvent e WHERE e.eventMonth BETWEEN :fromMonth AND :toMonth " +
+            "AND (:eventType IS NULL OR e.eventType = :eventType) " +
+            "AND e.eventTime >= :from AND e.eventTime < :to ORDER BY e.eventTime, e.id")
+    Stream<TicketEvent> streamInRange(@Param("fromMonth") int fromMonth, @Param("toMonth") int toMonth,
+                                      @Param("eventType") String eventType,
+                                      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // One row per month bucket
+    @Query("SELECT new com.movie.ticketbooking.dto.TicketEventMonthDTO(e.eventMonth, COUNT(e), " +
+            "MIN(e.eventTime), MAX(e.eventTime)) FROM TicketEvent e GROUP BY e.eventMonth ORDER BY e.eventMonth")
+    List<TicketEventMonthDTO> findMonths();
+
+    // Next chunk of event IDs of one month, for deleting it in batches
+    @Query("SELECT e.id FROM TicketEvent e WHERE e.eventMonth = :eventMonth")
+    List<UUID> findIdsInMonth(@Param("eventMonth") int eventMonth, Limit limit);
+
+    // Next chunk of event IDs of every month before the given one
+    @Query("SELECT e.id FROM TicketEvent e WHERE e.eventMonth < :eventMonth")
+    List<UUID> findIdsInMonthsBefore(@Param("eventMonth") int eventMonth, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM TicketEvent e WHERE e.id IN :ids")
+    int bulkDeleteByIds(@Param("ids") Collection<UUID> ids);
+
+    // Bucket rows written before events had a month
+    @Modifying
+    @Query("UPDATE TicketEvent e SET e.eventMonth = YEAR(e.eventTime) * 100 + MONTH(e.eventTime) " +
+            "WHERE e.eventMonth IS NULL")
+    int assignMissingMonths();
 }
@@ -1,27 +1,102 @@
 package com.movie.ticketbooking.dao;
 
-import com.movie.ticketbooking.model.Showtime;
+import com.movie.ticketbooking.dto.BookedSeat;
+import com.movie.ticketbooking.dto.BookingWindow;
+import com.movie.ticketbooking.dto.TicketDTO;
 import com.movie.ticketbooking.model.Ticket;
-import com.movie.ticketbooking.model.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
-    boolean existsByShowtimeAndSeatNumber(Showtime showtime, int seatNumber);
-    //  Add method to find all tickets by a specific user
-    List<Ticket> findByUser(User user);
-    // Find tickets for the user that have overlapping showtimes
-    @Query("SELECT t FROM Ticket t WHERE t.user = :user AND " +
-            "t.showtime.startTime < :endTime AND t.showtime.endTime > :startTime")
-    List<Ticket> findOverlappingTickets(@Param("user") User user,
-                                        @Param("startTime") LocalDateTime startTime,
-                                        @Param("endTime") LocalDateTime endTime);
+public interface TicketRepository extends KeysetRepository<Ticket>, BatchInsertRepository<Ticket> {
 
+    // Selects TicketDTO rows for ticket t, append WHERE/ORDER BY clauses
+    String VIEW_QUERY = "SELECT new com.movie.ticketbooking.dto.TicketDTO(t.id, t.seatNumber, t.price, u.id, u.name, " +
+            "s.id, s.startTime, s.endTime, m.id, m.title, th.id, th.name, h.id, h.name) " +
+            "FROM Ticket t JOIN t.user u JOIN t.showtime s JOIN s.movie m JOIN s.theater th JOIN s.hall h ";
+
+    // Booked seat numbers of a showtime (used to build the in-memory seat bitmap)
+    @Query("SELECT t.seatNumber FROM Ticket t WHERE t.showtime.id = :showtimeId")
+    List<Integer> findSeatNumbersByShowtimeId(@Param("showtimeId") UUID showtimeId);
+
+    // Sold seats of a showtime (used to seed its in-memory occupancy counter)
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.showtime.id = :showtimeId")
+    long countByShowtimeId(@Param("showtimeId") UUID showtimeId);
+
+    // Which of the given ticket IDs still exist
+    @Query("SELECT t.id FROM Ticket t WHERE t.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") List<UUID> ids);
+
+    // Ticket with its showtime and hall, enough to cancel it
+    @EntityGraph(attributePaths = "showtime.hall")
+    Optional<Ticket> findWithShowtimeById(UUID id);
+
+    // Ticket with everything TicketDTO maps, for seat changes
+    @EntityGraph(attributePaths = {"user", "showtime.movie", "showtime.theater", "showtime.hall"})
+    Optional<Ticket> findDetailedById(UUID id);
+
+    // Ticket views of a user, in showtime order
+    @Query(VIEW_QUERY + "WHERE u.id = :userId ORDER BY s.startTime, t.id")
+    List<TicketDTO> findViewsByUserId(@Param("userId") UUID userId);
+
+    @Query(VIEW_QUERY + "WHERE t.id = :id")
+    Optional<TicketDTO> findViewById(@Param("id") UUID id);
+
+    // Ticket views ordered by ID, Limit.unlimited() for all of them
+    @Query(VIEW_QUERY + "ORDER BY t.id")
+    List<TicketDTO> findViews(Limit limit);
+
+    @Query(VIEW_QUERY + "WHERE t.id > :after ORDER BY t.id")
+    List<TicketDTO> findViewsAfter(@Param("after") UUID after, Limit limit);
+
+    // Must be consumed inside a transaction, rows are fetched from an open cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_QUERY + "ORDER BY t.id")
+    Stream<TicketDTO> streamViews();
+
+    // Next keyset page of ticket views (first page when after is null)
+    default List<TicketDTO> findViewPageAfter(UUID after, int limit) {
+        return after == null ? findViews(Limit.of(limit)) : findViewsAfter(after, Limit.of(limit));
+    }
+
+    // Booked [startTime, endTime) windows of a user's showtimes ending after the given time.
+    // Never auto-flushes: pending inserts of the booking being checked must not be seen (or fail) here
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT new com.movie.ticketbooking.dto.BookingWindow(t.id, s.startTime, s.endTime) " +
+            "FROM Ticket t JOIN t.showtime s WHERE t.user.id = :userId AND s.endTime > :endsAfter")
+    List<BookingWindow> findBookingWindows(@Param("userId") UUID userId,
+                                           @Param("endsAfter") LocalDateTime endsAfter);
+
+    // Set-based delete of every ticket for a showtime in the given halls
+    @Modifying
+    @Query("DELETE FROM Ticket t WHERE t.showtime.id IN (SELECT s.id FROM Showtime s WHERE s.hall.id IN :hallIds)")
+    int bulkDeleteByHallIds(@Param("hallIds") Collection<UUID> hallIds);
+
+    // Set-based delete of every ticket for the given showtimes
+    @Modifying
+    @Query("DELETE FROM Ticket t WHERE t.showtime.id IN :showtimeIds")
+    int bulkDeleteByShowtimeIds(@Param("showtimeIds") Collection<UUID> showtimeIds);
+
+    // Seats of a user's tickets, to free them in the seat inventory when the user is deleted
+    @Query("SELECT new com.movie.ticketbooking.dto.BookedSeat(t.showtime.id, t.seatNumber) FROM Ticket t " +
+            "WHERE t.user.id = :userId")
+    List<BookedSeat> findBookedSeatsByUserId(@Param("userId") UUID userId);
+
+    // Users holding tickets for a showtime
+    @Query("SELECT DISTINCT t.user.id FROM Ticket t WHERE t.showtime.id = :showtimeId")
+    List<UUID> findUserIdsByShowtimeId(@Param("showtimeId") UUID showtimeId);
 }
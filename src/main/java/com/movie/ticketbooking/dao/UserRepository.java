@@ -1,10 +1,39 @@
 package com.movie.ticketbooking.dao;
 
+import com.movie.ticketbooking.dto.UserDTO;
 import com.movie.ticketbooking.model.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends KeysetRepository<User> {
+
+    // Selects UserDTO rows for user u, append WHERE/ORDER BY clauses
+    String VIEW_QUERY = "SELECT new com.movie.ticketbooking.dto.UserDTO(u.id, u.name, u.email) FROM User u ";
+
+    // User views ordered by ID, Limit.unlimited() for all of them
+    @Query(VIEW_QUERY + "ORDER BY u.id")
+    List<UserDTO> findViews(Limit limit);
+
+    @Query(VIEW_QUERY + "WHERE u.id > :after ORDER BY u.id")
+    List<UserDTO> findViewsAfter(@Param("after") UUID after, Limit limit);
+
+    // Must be consumed inside a transaction, rows are fetched from an open cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_QUERY + "ORDER BY u.id")
+    Stream<UserDTO> streamViews();
+
+    // Next keyset page of user views (first page when after is null)
+    default List<UserDTO> findViewPageAfter(UUID after, int limit) {
+        return after == null ? findViews(Limit.of(limit)) : findViewsAfter(after, Limit.of(limit));
+    }
 }
@@ -0,0 +1,7 @@
+package com.movie.ticketbooking.dto;
+
+import java.util.UUID;
+
+// Seat held by one ticket of a showtime
+public record BookedSeat(UUID showtimeId, int seatNumber) {
+}
@@ -0,0 +1,8 @@
+package com.movie.ticketbooking.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Time window [startTime, endTime) occupied by one ticket
+public record BookingWindow(UUID ticketId, LocalDateTime startTime, LocalDateTime endTime) {
+}
@@ -0,0 +1,21 @@
+package com.movie.ticketbooking.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.movie.ticketbooking.model.Hall;
+import com.movie.ticketbooking.model.Theater;
+
+import java.util.UUID;
+
+// A hall with its theater, serialized like the Hall entity (without the theater)
+public record HallDTO(UUID id, String name, int capacity,
+                      @JsonIgnore UUID theaterId, @JsonIgnore String theaterName, @JsonIgnore String theaterLocation) {
+
+    public static HallDTO from(Hall hall) {
+        return from(hall, hall.getTheater());
+    }
+
+    public static HallDTO from(Hall hall, Theater theater) {
+        return new HallDTO(hall.getId(), hall.getName(), hall.getCapacity(),
+                theater.getId(), theater.getName(), theater.getLocation());
+    }
+}
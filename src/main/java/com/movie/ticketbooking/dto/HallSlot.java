@@ -0,0 +1,8 @@
+package com.movie.ticketbooking.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Time window [startTime, endTime) a hall is occupied by one showtime
+public record HallSlot(UUID showtimeId, UUID hallId, LocalDateTime startTime, LocalDateTime endTime) {
+}
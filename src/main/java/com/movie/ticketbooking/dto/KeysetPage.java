@@ -0,0 +1,17 @@
+package com.movie.ticketbooking.dto;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset scan. {@code nextCursor} is the ID to pass as {@code after}
+ * for the next page, or {@code null} on the last page.
+ */
+public record KeysetPage<T>(List<T> items, UUID nextCursor) {
+
+    public static <T> KeysetPage<T> of(List<T> items, int limit, Function<T, UUID> idExtractor) {
+        UUID nextCursor = items.size() == limit ? idExtractor.apply(items.get(items.size() - 1)) : null;
+        return new KeysetPage<>(items, nextCursor);
+    }
+}
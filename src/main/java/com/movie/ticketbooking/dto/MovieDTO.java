@@ -0,0 +1,14 @@
+package com.movie.ticketbooking.dto;
+
+import com.movie.ticketbooking.model.Movie;
+
+import java.util.UUID;
+
+// A movie without its showtimes
+public record MovieDTO(UUID id, String title, String genre, int duration, double rating, int releaseYear) {
+
+    public static MovieDTO from(Movie movie) {
+        return new MovieDTO(movie.getId(), movie.getTitle(), movie.getGenre(), movie.getDuration(),
+                movie.getRating(), movie.getReleaseYear());
+    }
+}
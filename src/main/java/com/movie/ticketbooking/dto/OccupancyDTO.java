@@ -0,0 +1,11 @@
+package com.movie.ticketbooking.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Occupancy of the showtimes of a hall or theater starting in [from, to), totals over the listed showtimes
+public record OccupancyDTO(UUID id, LocalDateTime from, LocalDateTime to, int showtimes, long capacity,
+                           long soldSeats, double occupancy, int soldOutShowtimes, int almostFullShowtimes,
+                           List<ShowtimeOccupancyDTO> showtimeOccupancies) {
+}
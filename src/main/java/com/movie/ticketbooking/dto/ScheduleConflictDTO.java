@@ -0,0 +1,18 @@
+package com.movie.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class ScheduleConflictDTO {
+    private int index;                   // position of the rejected showtime in the request
+    private UUID hallId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private UUID conflictingShowtimeId;  // set when it clashes with a scheduled showtime
+    private Integer conflictingIndex;    // set when it clashes with another showtime of the same request
+}
@@ -0,0 +1,17 @@
+package com.movie.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class SeatMapDTO {
+    private UUID showtimeId;
+    private int capacity;
+    private int takenSeats;
+    private int availableSeats;
+    private List<int[]> takenRanges; // Run-length encoded [firstSeat, lastSeat] pairs, booked or held
+}
@@ -0,0 +1,8 @@
+package com.movie.ticketbooking.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Seat capacity of one showtime, i.e. the capacity of its hall
+public record ShowtimeCapacity(UUID showtimeId, UUID hallId, LocalDateTime startTime, int capacity) {
+}
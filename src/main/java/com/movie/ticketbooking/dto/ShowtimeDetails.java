@@ -0,0 +1,19 @@
+package com.movie.ticketbooking.dto;
+
+import com.movie.ticketbooking.model.Showtime;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Immutable snapshot of a showtime with its movie and hall (id is null until the showtime is saved)
+public record ShowtimeDetails(UUID id, LocalDateTime startTime, LocalDateTime endTime, MovieDTO movie, HallDTO hall) {
+
+    public static ShowtimeDetails from(Showtime showtime) {
+        return new ShowtimeDetails(showtime.getId(), showtime.getStartTime(), showtime.getEndTime(),
+                MovieDTO.from(showtime.getMovie()), HallDTO.from(showtime.getHall(), showtime.getTheater()));
+    }
+
+    public ShowtimeDetails withId(UUID newId) {
+        return new ShowtimeDetails(newId, startTime, endTime, movie, hall);
+    }
+}
@@ -0,0 +1,10 @@
+package com.movie.ticketbooking.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Sold seats of one showtime against its hall capacity
+public record ShowtimeOccupancyDTO(UUID showtimeId, UUID hallId, LocalDateTime startTime, int capacity,
+                                   long soldSeats, long availableSeats, double occupancy,
+                                   boolean soldOut, boolean almostFull) {
+}
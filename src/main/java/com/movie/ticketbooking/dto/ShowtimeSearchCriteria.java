@@ -0,0 +1,9 @@
+package com.movie.ticketbooking.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Showtimes starting in [from, to), narrowed by any of the optional (null) filters
+public record ShowtimeSearchCriteria(UUID movieId, UUID theaterId, UUID hallId, String genre,
+                                     LocalDateTime from, LocalDateTime to, int limit) {
+}
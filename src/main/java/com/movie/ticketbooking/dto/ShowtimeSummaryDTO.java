@@ -0,0 +1,34 @@
+package com.movie.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Flat view of a showtime with the movie, theater and hall fields a listing needs
+@Getter
+@AllArgsConstructor
+public class ShowtimeSummaryDTO {
+    private UUID id;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private UUID movieId;
+    private String movieTitle;
+    private String genre;
+    private int duration;
+    private UUID theaterId;
+    private String theaterName;
+    private String theaterLocation;
+    private UUID hallId;
+    private String hallName;
+
+    // Same view of a showtime snapshot, e.g. one just created or read from the cache
+    public static ShowtimeSummaryDTO from(ShowtimeDetails showtime) {
+        MovieDTO movie = showtime.movie();
+        HallDTO hall = showtime.hall();
+        return new ShowtimeSummaryDTO(showtime.id(), showtime.startTime(), showtime.endTime(),
+                movie.id(), movie.title(), movie.genre(), movie.duration(),
+                hall.theaterId(), hall.theaterName(), hall.theaterLocation(), hall.id(), hall.name());
+    }
+}
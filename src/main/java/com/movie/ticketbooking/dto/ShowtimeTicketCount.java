@@ -0,0 +1,7 @@
+package com.movie.ticketbooking.dto;
+
+import java.util.UUID;
+
+// Number of tickets sold for a showtime
+public record ShowtimeTicketCount(UUID showtimeId, long tickets) {
+}
@@ -0,0 +1,49 @@
+package com.movie.ticketbooking.dto;
+
+import com.movie.ticketbooking.model.Showtime;
+import com.movie.ticketbooking.model.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Flat view of a ticket with the showtime, movie, theater, hall and user fields a listing needs
+@Getter
+@AllArgsConstructor
+public class TicketDTO {
+    private UUID id;
+    private int seatNumber;
+    private double price;
+    private UUID userId;
+    private String userName;
+    private UUID showtimeId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private UUID movieId;
+    private String movieTitle;
+    private UUID theaterId;
+    private String theaterName;
+    private UUID hallId;
+    private String hallName;
+
+    // Same view of an already loaded ticket, e.g. one just booked
+    public static TicketDTO from(Ticket ticket) {
+        Showtime showtime = ticket.getShowtime();
+        return new TicketDTO(ticket.getId(), ticket.getSeatNumber(), ticket.getPrice(),
+                ticket.getUser().getId(), ticket.getUser().getName(),
+                showtime.getId(), showtime.getStartTime(), showtime.getEndTime(),
+                showtime.getMovie().getId(), showtime.getMovie().getTitle(),
+                showtime.getTheater().getId(), showtime.getTheater().getName(),
+                showtime.getHall().getId(), showtime.getHall().getName());
+    }
+
+    // View of a ticket just booked for a cached showtime and user, its own references are not loaded
+    public static TicketDTO from(Ticket ticket, ShowtimeDetails showtime, UserDTO user) {
+        return new TicketDTO(ticket.getId(), ticket.getSeatNumber(), ticket.getPrice(), user.id(), user.name(),
+                showtime.id(), showtime.startTime(), showtime.endTime(),
+                showtime.movie().id(), showtime.movie().title(),
+                showtime.hall().theaterId(), showtime.hall().theaterName(),
+                showtime.hall().id(), showtime.hall().name());
+    }
+}
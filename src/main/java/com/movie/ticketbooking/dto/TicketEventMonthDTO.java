@@ -0,0 +1,15 @@
+package com.movie.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class TicketEventMonthDTO {
+    private Integer eventMonth; // yyyyMM
+    private long eventCount;
+    private LocalDateTime firstEventTime;
+    private LocalDateTime lastEventTime;
+}
@@ -0,0 +1,22 @@
+package com.movie.ticketbooking.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TicketImportDTO {
+    private String showtimeId;
+    private String userId;
+    private int seatNumber;
+    private double price;
+
+    public TicketImportDTO() {}
+
+    public TicketImportDTO(String showtimeId, String userId, int seatNumber, double price) {
+        this.showtimeId = showtimeId;
+        this.userId = userId;
+        this.seatNumber = seatNumber;
+        this.price = price;
+    }
+}
@@ -0,0 +1,13 @@
+package com.movie.ticketbooking.dto;
+
+import com.movie.ticketbooking.model.User;
+
+import java.util.UUID;
+
+// A user without its tickets
+public record UserDTO(UUID id, String name, String email) {
+
+    public static UserDTO from(User user) {
+        return new UserDTO(user.getId(), user.getName(), user.getEmail());
+    }
+}
@@ -0,0 +1,21 @@
+package com.movie.ticketbooking.exception;
+
+import java.util.UUID;
+
+/**
+ * A seat hold does not exist (any more), it was released, confirmed or has expired.
+ * Mapped to 404 Not Found by the API.
+ */
+public class HoldNotFoundException extends RuntimeException {
+
+    private final UUID holdId;
+
+    public HoldNotFoundException(UUID holdId) {
+        super("Hold not found or already expired.");
+        this.holdId = holdId;
+    }
+
+    public UUID getHoldId() {
+        return holdId;
+    }
+}
@@ -0,0 +1,41 @@
+package com.movie.ticketbooking.exception;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A requested seat is already taken, either by the in-memory seat inventory or by the
+ * database's unique (showtime_id, seat_number) constraint. Mapped to 409 Conflict by the API.
+ */
+public class SeatAlreadyBookedException extends RuntimeException {
+
+    private final UUID showtimeId;
+    private final List<Integer> seatNumbers;
+
+    public SeatAlreadyBookedException(UUID showtimeId, List<Integer> seatNumbers) {
+        super(seatNumbers.size() == 1
+                ? "Seat " + seatNumbers.get(0) + " already booked for this showtime."
+                : "One of seats " + seatNumbers + " already booked for this showtime.");
+        this.showtimeId = showtimeId;
+        this.seatNumbers = List.copyOf(seatNumbers);
+    }
+
+    public SeatAlreadyBookedException(UUID showtimeId, int seatNumber) {
+        this(showtimeId, List.of(seatNumber));
+    }
+
+    // Conflict somewhere in a bulk write, where the database does not tell which showtime and seat
+    public SeatAlreadyBookedException(String message) {
+        super(message);
+        this.showtimeId = null;
+        this.seatNumbers = List.of();
+    }
+
+    public UUID getShowtimeId() {
+        return showtimeId;
+    }
+
+    public List<Integer> getSeatNumbers() {
+        return seatNumbers;
+    }
+}
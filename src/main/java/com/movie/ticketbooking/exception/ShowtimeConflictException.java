@@ -0,0 +1,26 @@
+package com.movie.ticketbooking.exception;
+
+import com.movie.ticketbooking.dto.ScheduleConflictDTO;
+
+import java.util.List;
+
+/**
+ * One or more showtimes would occupy a hall that is already in use during their time window.
+ * Mapped to 409 Conflict by the API.
+ */
+public class ShowtimeConflictException extends RuntimeException {
+
+    private final List<ScheduleConflictDTO> conflicts;
+
+    public ShowtimeConflictException(List<ScheduleConflictDTO> conflicts) {
+        super(conflicts.size() == 1
+                ? "Hall is already in use between " + conflicts.get(0).getStartTime()
+                        + " and " + conflicts.get(0).getEndTime() + "."
+                : conflicts.size() + " showtimes conflict with the hall schedule.");
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public List<ScheduleConflictDTO> getConflicts() {
+        return conflicts;
+    }
+}
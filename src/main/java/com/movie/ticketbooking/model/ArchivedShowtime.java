@@ -0,0 +1,42 @@
+package com.movie.ticketbooking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A showtime moved out of the hot {@code showtime} table after it ended.
+ * Movie, theater and hall are copied in rather than referenced, so history survives later changes to them.
+ */
+@Entity
+@Table(name = "showtime_archive", indexes = {
+        @Index(name = "idx_showtime_archive_start", columnList = "startTime"),
+        @Index(name = "idx_showtime_archive_movie_start", columnList = "movieId, startTime")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedShowtime {
+
+    @Id
+    private UUID id; // Same ID the showtime had
+
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    private UUID movieId;
+    private String movieTitle;
+    private String genre;
+    private int duration;
+
+    private UUID theaterId;
+    private String theaterName;
+    private String theaterLocation;
+
+    private UUID hallId;
+    private String hallName;
+
+    private LocalDateTime archivedAt;
+}
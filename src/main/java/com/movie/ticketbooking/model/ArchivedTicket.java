@@ -0,0 +1,28 @@
+package com.movie.ticketbooking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * A ticket of an {@link ArchivedShowtime}, moved out of the hot {@code ticket} table with its showtime.
+ */
+@Entity
+@Table(name = "ticket_archive", indexes = {
+        @Index(name = "idx_ticket_archive_user", columnList = "userId"),
+        @Index(name = "idx_ticket_archive_showtime", columnList = "showtimeId")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedTicket {
+
+    @Id
+    private UUID id; // Same ID the ticket had
+
+    private UUID showtimeId;
+    private UUID userId; // The user may have been deleted since
+    private int seatNumber;
+    private double price;
+}
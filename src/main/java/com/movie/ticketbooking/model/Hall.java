@@ -22,7 +22,7 @@ public class Hall {
     private String name;
     private int capacity;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "theater_id", nullable = false)
     @JsonIgnore // Hides "theater" field in JSON
     private Theater theater;
@@ -0,0 +1,70 @@
+package com.movie.ticketbooking.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A ticket change recorded in the same transaction as the change itself.
+ * IDs come from a pooled sequence, so they neither follow commit order nor are gap-free; the relay
+ * therefore tracks each row ({@code relayed}, then one {@link OutboxPending} per consumer) instead of a
+ * position in the ID sequence.
+ */
+@Entity
+@Table(name = "ticket_outbox", indexes = @Index(name = "idx_ticket_outbox_relayed", columnList = "relayed, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_outbox_seq")
+    @SequenceGenerator(name = "ticket_outbox_seq", sequenceName = "ticket_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    // Plain IDs rather than associations: the ticket may be gone by the time the event is consumed
+    private UUID ticketId;
+    private UUID showtimeId;
+    private UUID userId;
+    private Integer seatNumber;
+
+    private String details;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Set once the relay has queued the event for every consumer
+    @Column(nullable = false)
+    private boolean relayed;
+
+    public OutboxEvent(String eventType, Ticket ticket, String details) {
+        this(eventType, ticket.getId(), ticket.getShowtime().getId(), ticket.getUser().getId(),
+                ticket.getSeatNumber(), details);
+    }
+
+    // Event built from plain IDs, for tickets that are no longer attached to the persistence context
+    public OutboxEvent(String eventType, UUID ticketId, UUID showtimeId, UUID userId, int seatNumber, String details) {
+        this.eventType = eventType;
+        this.ticketId = ticketId;
+        this.showtimeId = showtimeId;
+        this.userId = userId;
+        this.seatNumber = seatNumber;
+        this.details = details;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Event about a whole showtime rather than a single ticket
+    public OutboxEvent(String eventType, UUID showtimeId, String details) {
+        this.eventType = eventType;
+        this.showtimeId = showtimeId;
+        this.details = details;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,26 @@
+package com.movie.ticketbooking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last delivery to one outbox consumer, for monitoring. What a consumer still has to process is
+ * tracked per event in {@link OutboxPending}, not by this ID.
+ */
+@Entity
+@Table(name = "outbox_offset")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxOffset {
+
+    @Id
+    private String consumerName;
+
+    private long lastEventId;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,37 @@
+package com.movie.ticketbooking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * An outbox event not yet processed by one consumer. Rows are created when the relay fans an event out
+ * and deleted in the same transaction as the consumer's batch, so an event is never skipped, whatever
+ * order the producing transactions commit in.
+ */
+@Entity
+@Table(name = "outbox_pending", indexes = @Index(name = "idx_outbox_pending_event", columnList = "eventId"))
+@IdClass(OutboxPending.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxPending {
+
+    @Id
+    private String consumerName;
+
+    @Id
+    private long eventId;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String consumerName;
+        private long eventId;
+    }
+}
@@ -9,6 +9,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_showtime_movie_start", columnList = "movie_id, startTime"),
+        @Index(name = "idx_showtime_theater_start", columnList = "theater_id, startTime"),
+        @Index(name = "idx_showtime_hall_start", columnList = "hall_id, startTime")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,15 +24,15 @@ public class Showtime {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "movie_id", nullable = false)
     private Movie movie;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "theater_id", nullable = false)
     private Theater theater;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hall_id", nullable = false)
     private Hall hall;
 
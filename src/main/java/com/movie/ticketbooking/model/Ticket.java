@@ -6,21 +6,24 @@ import lombok.*;
 import java.util.UUID;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Ticket.SEAT_CONSTRAINT, columnNames = {"showtime_id", "seatNumber"}))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Ticket {
 
+    public static final String SEAT_CONSTRAINT = "uk_ticket_showtime_seat";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "showtime_id", nullable = false)
     private Showtime showtime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -5,35 +5,77 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.UUID;
 
+/**
+ * Append-only audit record of a ticket change.
+ * Events carry the month of {@code eventTime} ({@code eventMonth}, e.g. 202610) as a plain indexed
+ * column, the key the month listing, month deletes and retention work by. This is not storage
+ * partitioning: deleting a month deletes its rows in batches, at a cost proportional to its size.
+ */
 @Entity
+@NamedEntityGraph(name = TicketEvent.WITH_TICKET,
+        attributeNodes = @NamedAttributeNode(value = "ticket", subgraph = "ticket"),
+        subgraphs = {
+                @NamedSubgraph(name = "ticket", attributeNodes = {
+                        @NamedAttributeNode("user"), @NamedAttributeNode(value = "showtime", subgraph = "showtime")}),
+                @NamedSubgraph(name = "showtime", attributeNodes = {
+                        @NamedAttributeNode("movie"), @NamedAttributeNode("theater"), @NamedAttributeNode("hall")})
+        })
+@Table(indexes = {
+        @Index(name = "idx_ticket_event_month_time", columnList = "eventMonth, eventTime"),
+        @Index(name = "idx_ticket_event_month_type_time", columnList = "eventMonth, eventType, eventTime")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class TicketEvent {
 
+    // The event with its ticket as serialized in responses (user, showtime, movie, theater, hall)
+    public static final String WITH_TICKET = "TicketEvent.withTicket";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private String eventType;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ticket_id", referencedColumnName = "id", nullable = true) // ✅ Allow null values
     private Ticket ticket;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private LocalDateTime eventTime;
 
+    @Column(updatable = false)
+    private Integer eventMonth; // yyyyMM bucket of eventTime, set on insert
+
+    @Column(updatable = false)
     private String details;
 
+    @Column(unique = true, updatable = false)
+    private Long outboxEventId; // Source outbox event, null for events written directly
+
     public TicketEvent(String eventType, Ticket ticket, String details) {
         this.eventType = eventType;
         this.ticket = ticket;  // Can be null if the ticket is deleted
         this.eventTime = LocalDateTime.now();
         this.details = details;
     }
+
+    @PrePersist
+    void assignMonth() {
+        this.eventMonth = monthOf(eventTime);
+    }
+
+    public static int monthOf(LocalDateTime time) {
+        return time.getYear() * 100 + time.getMonthValue();
+    }
+
+    public static int monthOf(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
 }
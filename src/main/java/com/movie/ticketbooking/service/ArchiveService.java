@@ -0,0 +1,170 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.config.CacheConfig;
+import com.movie.ticketbooking.dao.ArchivedShowtimeRepository;
+import com.movie.ticketbooking.dao.ArchivedTicketRepository;
+import com.movie.ticketbooking.dao.ShowtimeRepository;
+import com.movie.ticketbooking.dao.TicketEventRepository;
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dto.ShowtimeSummaryDTO;
+import com.movie.ticketbooking.dto.TicketDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves showtimes that ended more than {@code booking.archive.after-days} ago, with their tickets, from the
+ * hot tables into {@code showtime_archive} / {@code ticket_archive}, and serves historical lookups from there.
+ * Each batch is copied with INSERT ... SELECT and removed with set-based deletes in its own transaction,
+ * so archiving a large backlog never holds one long transaction or loads entities.
+ */
+@Service
+public class ArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
+
+    public record Summary(int showtimes, int tickets) {
+    }
+
+    private final ShowtimeRepository showtimeRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketEventRepository ticketEventRepository;
+    private final ArchivedShowtimeRepository archivedShowtimeRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final OccupancyService occupancyService;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache showtimeCache;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int batchSize;
+    // One archive run at a time; a lock rather than synchronized so a virtual thread never pins its carrier
+    // for the whole run
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public ArchiveService(ShowtimeRepository showtimeRepository, TicketRepository ticketRepository,
+                          TicketEventRepository ticketEventRepository,
+                          ArchivedShowtimeRepository archivedShowtimeRepository,
+                          ArchivedTicketRepository archivedTicketRepository,
+                          SeatInventoryService seatInventoryService, OccupancyService occupancyService,
+                          TransactionTemplate transactionTemplate,
+                          CacheManager cacheManager,
+                          @Value("${booking.archive.enabled:true}") boolean enabled,
+                          @Value("${booking.archive.after-days:7}") int afterDays,
+                          @Value("${booking.archive.batch-size:500}") int batchSize) {
+        this.showtimeRepository = showtimeRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketEventRepository = ticketEventRepository;
+        this.archivedShowtimeRepository = archivedShowtimeRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.occupancyService = occupancyService;
+        this.transactionTemplate = transactionTemplate;
+        this.showtimeCache = cacheManager.getCache(CacheConfig.SHOWTIMES);
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+    }
+
+    //  Archive expired showtimes on the configured schedule
+    @Scheduled(cron = "${booking.archive.cron:0 0 4 * * *}")
+    public void archiveExpiredShowtimes() {
+        if (enabled) {
+            archiveEndedBefore(defaultCutoff());
+        }
+    }
+
+    //  Showtimes that ended before this are due for archival
+    public LocalDateTime defaultCutoff() {
+        return LocalDateTime.now().minusDays(afterDays);
+    }
+
+    //  Archive every showtime that ended before the cutoff, batch by batch; a cutoff in the future is rejected,
+    //  it would archive showtimes that can still be booked. Empty if another run is already in progress
+    public Optional<Summary> archiveEndedBefore(LocalDateTime cutoff) {
+        if (cutoff.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("`endedBefore` must not be in the future.");
+        }
+        if (!runLock.tryLock()) {
+            logger.info("Archive run skipped, another one is in progress");
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(archiveBatches(cutoff));
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private Summary archiveBatches(LocalDateTime cutoff) {
+        int showtimes = 0;
+        int tickets = 0;
+        while (true) {
+            List<UUID> showtimeIds = showtimeRepository.findIdsEndedBefore(cutoff, Limit.of(batchSize));
+            if (showtimeIds.isEmpty()) {
+                break;
+            }
+            Integer archivedTickets = transactionTemplate.execute(status -> archiveBatch(showtimeIds));
+            showtimeIds.forEach(showtimeId -> {
+                seatInventoryService.evict(showtimeId);
+                occupancyService.evict(showtimeId);
+                showtimeCache.evict(showtimeId);
+            });
+            showtimes += showtimeIds.size();
+            tickets += archivedTickets != null ? archivedTickets : 0;
+            if (showtimeIds.size() < batchSize) {
+                break;
+            }
+        }
+        if (showtimes > 0) {
+            logger.info("Archived {} showtimes and {} tickets that ended before {}", showtimes, tickets, cutoff);
+        }
+        return new Summary(showtimes, tickets);
+    }
+
+    // Copy, then delete in dependency order: events keep their audit trail but lose the ticket reference
+    private int archiveBatch(List<UUID> showtimeIds) {
+        archivedShowtimeRepository.archive(showtimeIds, LocalDateTime.now());
+        int tickets = archivedTicketRepository.archive(showtimeIds);
+        ticketEventRepository.detachFromShowtimes(showtimeIds);
+        ticketRepository.bulkDeleteByShowtimeIds(showtimeIds);
+        showtimeRepository.bulkDeleteByIds(showtimeIds);
+        return tickets;
+    }
+
+    public Optional<ShowtimeSummaryDTO> getArchivedShowtime(UUID id) {
+        return archivedShowtimeRepository.findViewById(id);
+    }
+
+    //  Archived showtimes starting in [from, to) in time order, optionally of one movie
+    public List<ShowtimeSummaryDTO> findArchivedShowtimes(LocalDateTime from, LocalDateTime to, UUID movieId, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("`from` must be before `to`.");
+        }
+        return archivedShowtimeRepository.findViewsInRange(from, to, movieId, Limit.of(limit));
+    }
+
+    public List<TicketDTO> getArchivedTicketsOfShowtime(UUID showtimeId) {
+        return archivedTicketRepository.findViewsByShowtimeId(showtimeId);
+    }
+
+    public Optional<TicketDTO> getArchivedTicket(UUID id) {
+        return archivedTicketRepository.findViewById(id);
+    }
+
+    //  A user's archived tickets, most recent first
+    public List<TicketDTO> getArchivedTicketsOfUser(UUID userId, int limit) {
+        return archivedTicketRepository.findViewsByUserId(userId, Limit.of(limit));
+    }
+}
@@ -0,0 +1,213 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dto.BookingWindow;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of the showtime windows each user holds tickets for, answering
+ * "does this user already have a booking during [start, end)?" in O(log n).
+ * Only windows that have not ended yet are kept, so memory follows upcoming bookings.
+ * A user's windows are loaded lazily from the database and then kept in sync on book and cancel;
+ * showtime and cascade changes evict the affected users so they are reloaded on next use.
+ */
+@Service
+public class BookingIntervalIndex {
+
+    private final TicketRepository ticketRepository;
+    private final ConcurrentMap<UUID, Windows> windowsByUser = new ConcurrentHashMap<>();
+    // Per user, bumped on every removal; a load of that user that overlapped one may hold a cancelled window
+    // and is redone
+    private final ConcurrentMap<UUID, Long> removals = new ConcurrentHashMap<>();
+    // Bumped when every user is dropped at once, which also resets the per-user counters
+    private final AtomicLong clears = new AtomicLong();
+
+    public BookingIntervalIndex(TicketRepository ticketRepository) {
+        this.ticketRepository = ticketRepository;
+    }
+
+    //  Check whether the user has a booking overlapping [start, end)
+    public boolean hasOverlap(UUID userId, LocalDateTime start, LocalDateTime end) {
+        return load(userId).overlaps(start, end);
+    }
+
+    /**
+     * Atomically checks the user for an overlapping booking and, if there is none, adds the tickets
+     * with the given window. Inside a transaction the tickets are removed again on rollback.
+     *
+     * @return {@code false} if the user already has a booking overlapping [start, end)
+     */
+    public boolean reserve(UUID userId, List<UUID> ticketIds, LocalDateTime start, LocalDateTime end) {
+        boolean[] reserved = new boolean[1];
+        Windows updated;
+        do {
+            load(userId);
+            // An entry evicted since the load is reloaded rather than put back from the old snapshot
+            updated = windowsByUser.computeIfPresent(userId, (id, windows) -> {
+                if (windows.overlaps(start, end)) {
+                    return windows;
+                }
+                reserved[0] = true;
+                List<BookingWindow> added = ticketIds.stream()
+                        .map(ticketId -> new BookingWindow(ticketId, start, end))
+                        .toList();
+                return windows.with(added);
+            });
+        } while (updated == null);
+
+        if (reserved[0] && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        removeTickets(userId, ticketIds);
+                    }
+                }
+            });
+        }
+        return reserved[0];
+    }
+
+    //  Drop a cancelled ticket once the current transaction commits (immediately when there is none)
+    public void removeAfterCommit(UUID userId, UUID ticketId) {
+        afterCommit(() -> removeTickets(userId, List.of(ticketId)));
+    }
+
+    //  Forget the users holding tickets for a showtime whose times changed
+    public void evictShowtime(UUID showtimeId) {
+        ticketRepository.findUserIdsByShowtimeId(showtimeId).forEach(this::evictUser);
+    }
+
+    //  Same for a showtime being deleted: its ticket holders are looked up now, while the tickets still exist,
+    //  and forgotten once the deletion is committed
+    public void evictShowtimeAfterCommit(UUID showtimeId) {
+        evictUsersAfterCommit(ticketRepository.findUserIdsByShowtimeId(showtimeId));
+    }
+
+    public void evictUser(UUID userId) {
+        removals.merge(userId, 1L, Long::sum);
+        windowsByUser.remove(userId);
+    }
+
+    //  Forget users whose tickets were written in bulk, once the write is committed
+    public void evictUsersAfterCommit(Collection<UUID> userIds) {
+        afterCommit(() -> userIds.forEach(this::evictUser));
+    }
+
+    //  Forget every user after a cascade delete of many showtimes, once the deletion is committed
+    public void clear() {
+        afterCommit(() -> {
+            clears.incrementAndGet();
+            removals.clear();
+            windowsByUser.clear();
+        });
+    }
+
+    // The query runs outside of the map's locks so it never blocks (or pins a virtual thread) while holding one
+    private Windows load(UUID userId) {
+        while (true) {
+            Windows windows = windowsByUser.get(userId);
+            if (windows != null) {
+                return windows;
+            }
+            long clearsBefore = clears.get();
+            long removalsBefore = removals.getOrDefault(userId, 0L);
+            Windows loaded = Windows.of(ticketRepository.findBookingWindows(userId, LocalDateTime.now()));
+            if (clears.get() != clearsBefore || removals.getOrDefault(userId, 0L) != removalsBefore) {
+                continue;
+            }
+            // Additions made meanwhile were installed by reserve() itself, keep them if present
+            Windows existing = windowsByUser.putIfAbsent(userId, loaded);
+            return existing != null ? existing : loaded;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void removeTickets(UUID userId, Collection<UUID> ticketIds) {
+        removals.merge(userId, 1L, Long::sum);
+        windowsByUser.computeIfPresent(userId, (id, windows) -> windows.without(new HashSet<>(ticketIds)));
+    }
+
+    /**
+     * Immutable windows of one user sorted by start time, with the running maximum end time.
+     * Some window overlaps [start, end) iff, among the windows starting before {@code end},
+     * the largest end time is after {@code start}: one binary search and one lookup.
+     */
+    private record Windows(BookingWindow[] byStart, LocalDateTime[] maxEnd) {
+
+        private static final Comparator<BookingWindow> BY_START = Comparator.comparing(BookingWindow::startTime);
+
+        static Windows of(Collection<BookingWindow> windows) {
+            LocalDateTime now = LocalDateTime.now();
+            BookingWindow[] sorted = windows.stream()
+                    .filter(window -> window.endTime().isAfter(now))
+                    .sorted(BY_START)
+                    .toArray(BookingWindow[]::new);
+            LocalDateTime[] maxEnd = new LocalDateTime[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                LocalDateTime end = sorted[i].endTime();
+                maxEnd[i] = i > 0 && maxEnd[i - 1].isAfter(end) ? maxEnd[i - 1] : end;
+            }
+            return new Windows(sorted, maxEnd);
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            int last = lastStartingBefore(end);
+            return last >= 0 && maxEnd[last].isAfter(start);
+        }
+
+        // Rebuilding also drops windows that have ended since the last change
+        Windows with(List<BookingWindow> added) {
+            List<BookingWindow> windows = new ArrayList<>(byStart.length + added.size());
+            windows.addAll(Arrays.asList(byStart));
+            windows.addAll(added);
+            return of(windows);
+        }
+
+        Windows without(Set<UUID> ticketIds) {
+            return of(Arrays.stream(byStart).filter(window -> !ticketIds.contains(window.ticketId())).toList());
+        }
+
+        // Index of the last window starting before the given time, or -1
+        private int lastStartingBefore(LocalDateTime time) {
+            int low = 0;
+            int high = byStart.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (byStart[mid].startTime().isBefore(time)) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+    }
+}
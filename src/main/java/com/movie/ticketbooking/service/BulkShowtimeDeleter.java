@@ -0,0 +1,85 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.OutboxEventRepository;
+import com.movie.ticketbooking.dao.ShowtimeRepository;
+import com.movie.ticketbooking.dao.TicketEventRepository;
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dto.ShowtimeTicketCount;
+import com.movie.ticketbooking.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deletes every showtime of a set of halls, with their tickets, using one set-based statement per table
+ * in dependency order instead of loading and cascading entity by entity. Instead of one event per ticket,
+ * each showtime that had tickets gets a single aggregated {@code showtime_tickets_deleted} event.
+ */
+@Component
+public class BulkShowtimeDeleter {
+    private static final Logger logger = LoggerFactory.getLogger(BulkShowtimeDeleter.class);
+
+    private final ShowtimeRepository showtimeRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketEventRepository ticketEventRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final OccupancyService occupancyService;
+
+    public BulkShowtimeDeleter(ShowtimeRepository showtimeRepository, TicketRepository ticketRepository,
+                               TicketEventRepository ticketEventRepository, OutboxEventRepository outboxEventRepository,
+                               SeatInventoryService seatInventoryService, SeatHoldService seatHoldService,
+                               BookingIntervalIndex bookingIntervalIndex, OccupancyService occupancyService) {
+        this.showtimeRepository = showtimeRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketEventRepository = ticketEventRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.seatHoldService = seatHoldService;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.occupancyService = occupancyService;
+    }
+
+    //  Delete the showtimes of the given halls and their tickets, returns the number of showtimes deleted
+    @Transactional
+    public int deleteInHalls(Collection<UUID> hallIds, String reason) {
+        if (hallIds.isEmpty()) {
+            return 0;
+        }
+        List<ShowtimeTicketCount> showtimes = showtimeRepository.countTicketsByHallIds(hallIds);
+        if (showtimes.isEmpty()) {
+            return 0;
+        }
+
+        // Events keep their audit trail but lose the reference, then tickets go before their showtimes
+        ticketEventRepository.detachFromHalls(hallIds);
+        int tickets = ticketRepository.bulkDeleteByHallIds(hallIds);
+        showtimeRepository.bulkDeleteByHallIds(hallIds);
+
+        outboxEventRepository.insertAll(showtimes.stream()
+                .filter(showtime -> showtime.tickets() > 0)
+                .map(showtime -> new OutboxEvent("showtime_tickets_deleted", showtime.showtimeId(),
+                        showtime.tickets() + " tickets deleted with showtime " + showtime.showtimeId()
+                                + " (" + reason + ")."))
+                .toList());
+
+        // In-memory state of the deleted showtimes goes once the delete commits, so it cannot be reloaded from
+        // rows that are still visible
+        List<UUID> showtimeIds = showtimes.stream().map(ShowtimeTicketCount::showtimeId).toList();
+        seatInventoryService.evictAfterCommit(showtimeIds);
+        seatHoldService.dropHoldsAfterCommit(showtimeIds);
+        occupancyService.evictAfterCommit(showtimeIds);
+        if (tickets > 0) {
+            bookingIntervalIndex.clear();
+        }
+        logger.info("Deleted {} showtimes and {} tickets ({})", showtimes.size(), tickets, reason);
+        return showtimes.size();
+    }
+}
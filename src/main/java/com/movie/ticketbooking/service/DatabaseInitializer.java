@@ -1,211 +1,68 @@
 package com.movie.ticketbooking.service;
 
-import com.movie.ticketbooking.dao.*;
-import com.movie.ticketbooking.model.*;
-import jakarta.annotation.PostConstruct;
+import com.movie.ticketbooking.dao.TheaterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-
+/**
+ * Opt-in seeding of an empty database ({@code booking.seed.enabled=true}, e.g. the {@code seed} profile).
+ * Seeding starts on a background thread once the application is ready, so it never delays startup;
+ * without the property this bean does not exist and startup does not touch the database at all.
+ */
 @Service
+@ConditionalOnProperty(name = "booking.seed.enabled", havingValue = "true")
 public class DatabaseInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseInitializer.class);
 
-    private final MovieRepository movieRepository;
     private final TheaterRepository theaterRepository;
-    private final HallRepository hallRepository;
-    private final ShowtimeRepository showtimeRepository;
-    private final TicketRepository ticketRepository;
-    private final UserRepository userRepository;
-    private final TicketEventRepository ticketEventRepository;
-
-    public DatabaseInitializer(
-            MovieRepository movieRepository,
-            TheaterRepository theaterRepository,
-            HallRepository hallRepository,
-            ShowtimeRepository showtimeRepository,
-            TicketRepository ticketRepository,
-            UserRepository userRepository,
-            TicketEventRepository ticketEventRepository)
-    {
-        this.movieRepository = movieRepository;
+    private final SyntheticDataGenerator syntheticDataGenerator;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final OccupancyService occupancyService;
+    private final SeatInventoryService seatInventoryService;
+    private final boolean virtualThreads;
+
+    public DatabaseInitializer(TheaterRepository theaterRepository,
+                               SyntheticDataGenerator syntheticDataGenerator,
+                               BookingIntervalIndex bookingIntervalIndex,
+                               OccupancyService occupancyService,
+                               SeatInventoryService seatInventoryService,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         this.theaterRepository = theaterRepository;
-        this.hallRepository = hallRepository;
-        this.showtimeRepository = showtimeRepository;
-        this.ticketRepository = ticketRepository;
-        this.userRepository = userRepository;
-        this.ticketEventRepository = ticketEventRepository;
-    }
-
-    @PostConstruct
-    public void initDatabase() {
-        insertTheatersAndHalls();
-        insertUsers();
-        insertMovies();
-        insertShowtimes();
-        insertTickets();
-        ensureTicketEventTableExists();
-    }
-
-    private void ensureTicketEventTableExists() {
-        if (ticketEventRepository.count() == 0) {
-            System.out.println("TicketEvent table is ready. No initial data inserted.");
-        }
-    }
-
-    private void insertTheatersAndHalls() {
-        if (theaterRepository.count() == 0) {
-            List<Theater> theaters = new ArrayList<>();
-
-            for (int t = 1; t <= 5; t++) {
-                Theater theater = new Theater("Theater " + t, "Location " + t, new ArrayList<>());
-
-                // Create 10 halls for each theater
-                for (int h = 1; h <= 10; h++) {
-                    Hall hall = new Hall("Hall " + h, 150+h*10, theater);
-                    theater.getHalls().add(hall); // Add hall to theater
-                }
-
-                theaters.add(theater);
-            }
-
-            theaterRepository.saveAll(theaters);
-            System.out.println("Inserted Theaters & Halls into the database.");
-        }
-    }
-
-
-    private void insertUsers() {
-        if (userRepository.count() == 0) {
-            List<User> users = List.of(
-                    new User("Alice Johnson", "alice@example.com"),
-                    new User("Bob Smith", "bob@example.com"),
-                    new User("Charlie Davis", "charlie@example.com"),
-                    new User("David White", "david@example.com"),
-                    new User("Emma Wilson", "emma@example.com"),
-                    new User("Frank Thomas", "frank@example.com"),
-                    new User("Grace Harris", "grace@example.com"),
-                    new User("Henry Martin", "henry@example.com"),
-                    new User("Isabella Lee", "isabella@example.com"),
-                    new User("Jack Brown", "jack@example.com")
-            );
-            userRepository.saveAll(users);
-            System.out.println(" Inserted 10 Users into the database.");
-        }
-    }
-
-    private void insertMovies() {
-        if (movieRepository.count() == 0) {
-            List<Movie> movies = List.of(
-                    new Movie("Inception", "Sci-Fi", 148, 8.8, 2010),
-                    new Movie("The Dark Knight", "Action", 152, 9.0, 2008),
-                    new Movie("Interstellar", "Sci-Fi", 169, 8.6, 2014),
-                    new Movie("Titanic", "Romance", 195, 7.8, 1997),
-                    new Movie("Avatar", "Sci-Fi", 162, 7.9, 2009),
-                    new Movie("The Matrix", "Sci-Fi", 136, 8.7, 1999),
-                    new Movie("Gladiator", "Action", 155, 8.5, 2000),
-                    new Movie("The Godfather", "Crime", 175, 9.2, 1972),
-                    new Movie("Forrest Gump", "Drama", 142, 8.8, 1994),
-                    new Movie("The Shawshank Redemption", "Drama", 144, 9.3, 1994)
-            );
-            movieRepository.saveAll(movies);
-            System.out.println(" Inserted 10 Movies into the database.");
-        }
+        this.syntheticDataGenerator = syntheticDataGenerator;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.occupancyService = occupancyService;
+        this.seatInventoryService = seatInventoryService;
+        this.virtualThreads = virtualThreads;
     }
 
-    private void insertShowtimes() {
-        if (showtimeRepository.count() == 0) {
-            List<Movie> movies = movieRepository.findAll();
-            List<Theater> theaters = theaterRepository.findAll();
-            List<Showtime> showtimes = new ArrayList<>();
-
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime twoMonthsLater = now.plusMonths(2);
-
-            int createdShowtimes = 0; // Counter for created showtimes
-
-            while (now.isBefore(twoMonthsLater)) {
-                for (Theater theater : theaters) {
-                    List<Hall> halls = hallRepository.findByTheater(theater);  // Correct
-
-                    int movieIndex = 0;
-                    for (Hall hall : halls) {
-                        if (movies.isEmpty()) break; // Ensure there are movies to schedule
-
-                        Movie movie = movies.get(movieIndex % movies.size()); // Rotate through movies
-                        LocalDateTime startTime = now.withHour(18).withMinute(0); // 6:00 PM Show
-                        LocalDateTime endTime = startTime.plusHours(2); // Assuming 2-hour duration
-
-                        showtimes.add(new Showtime(movie, theater, hall, startTime, endTime));
-
-                        movieIndex++; // Move to the next movie for the next hall
-                        createdShowtimes++;
-                    }
-                }
-                now = now.plusDays(1); // Move to the next day
-            }
-
-            showtimeRepository.saveAll(showtimes);
-            System.out.println(" Inserted " + createdShowtimes + " Showtimes for the Next 2 Months with Multiple Movies per Theater.");
-        }
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSeeding() {
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        builder.name("database-seeder").start(this::initDatabase);
     }
 
-    private void insertTickets() {
-        if (ticketRepository.count() == 0) {
-            List<User> users = userRepository.findAll();
-            List<Showtime> showtimes = showtimeRepository.findAll();
-
-            List<Ticket> tickets = new ArrayList<>();
-            int createdTickets = 0; // Counter for created showtimes
-            for (User user : users) {
-                List<Showtime> userShowtimes = new ArrayList<>();
-                int ticketsToCreate = Math.min(5, showtimes.size()); // Up to 5 tickets per user
-
-                for (int i = 0; i < ticketsToCreate; i++) {
-                    Showtime randomShowtime = getNonOverlappingShowtime(userShowtimes, showtimes);
-
-                    if (randomShowtime != null) {
-                        Hall hall = randomShowtime.getHall();
-                        int seatNumber = getRandomSeat(hall.getCapacity());
-                        double price = 12.99; // Default price
-
-                        tickets.add(new Ticket(randomShowtime, user, seatNumber, price));
-                        createdTickets ++;
-                        userShowtimes.add(randomShowtime); // Add to user's showtimes to prevent overlap
-                    }
-                }
+    //  Seed an empty database, the data set is sized by the booking.seed.* settings
+    private void initDatabase() {
+        try {
+            if (theaterRepository.count() != 0) {
+                logger.info("Database already contains data, skipping seeding");
+                return;
             }
-
-            ticketRepository.saveAll(tickets);
-            System.out.println(" Inserted  " + createdTickets + "  tickets for users for non-overlapping showtimes.");
+            SyntheticDataGenerator.Summary summary = syntheticDataGenerator.generate();
+            // Users may have booked (and had their booking windows, occupancy and seat bitmaps loaded) while
+            // seeding was running; bitmaps are rebuilt rather than dropped so their holds survive
+            bookingIntervalIndex.clear();
+            occupancyService.clear();
+            seatInventoryService.invalidateAll();
+            logger.info("Inserted {} Showtimes and {} Tickets into the database",
+                    summary.showtimes(), summary.tickets());
+        } catch (RuntimeException e) {
+            logger.error("Seeding the database failed", e);
         }
     }
-
-    /**
-     * Get a random non-overlapping showtime for a user.
-     */
-    private Showtime getNonOverlappingShowtime(List<Showtime> userShowtimes, List<Showtime> allShowtimes) {
-        List<Showtime> availableShowtimes = allShowtimes.stream()
-                .filter(showtime -> userShowtimes.stream()
-                        .noneMatch(existing -> isOverlapping(existing, showtime))) // Ensure no time overlap
-                .toList();
-
-        return availableShowtimes.isEmpty() ? null : availableShowtimes.get((int) (Math.random() * availableShowtimes.size()));
-    }
-
-    /**
-     * Check if two showtimes overlap.
-     */
-    private boolean isOverlapping(Showtime s1, Showtime s2) {
-        return (s1.getStartTime().isBefore(s2.getEndTime()) && s2.getStartTime().isBefore(s1.getEndTime()));
-    }
-
-    /**
-     * Generate a random seat number within hall capacity.
-     */
-    private int getRandomSeat(int capacity) {
-        return (int) (Math.random() * capacity) + 1;
-    }
 }
@@ -0,0 +1,39 @@
+package com.movie.ticketbooking.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs a repository stream inside a read-only transaction and hands each entity to a consumer,
+ * clearing the persistence context as it goes so heap use stays flat for any table size.
+ */
+@Component
+public class EntityStreamer {
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final EntityManager entityManager;
+
+    public EntityStreamer(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public <T> void forEach(Supplier<Stream<T>> query, Consumer<? super T> consumer) {
+        try (Stream<T> stream = query.get()) {
+            Iterator<T> iterator = stream.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dto.HallSlot;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Per-hall interval index of occupied time windows {@code [start, end)}, used to validate a schedule
+ * before it is written. Each hall keeps its windows in a {@link TreeMap} by start time; windows never
+ * overlap inside the index (overlapping legacy showtimes are merged on load), so the only window that
+ * can clash with a candidate is the one starting last before the candidate ends: O(log n) per check.
+ * Not thread-safe, build one per validation.
+ */
+public final class HallScheduleIndex {
+
+    /**
+     * An occupied window, owned by a scheduled showtime or by an earlier entry of the same request.
+     */
+    public record Occupant(LocalDateTime end, UUID showtimeId, Integer requestIndex) {
+    }
+
+    private final Map<UUID, TreeMap<LocalDateTime, Occupant>> windowsByHall = new HashMap<>();
+
+    //  Index the scheduled showtimes, sorted by start time
+    public static HallScheduleIndex of(List<HallSlot> scheduled) {
+        HallScheduleIndex index = new HallScheduleIndex();
+        Map<UUID, Map.Entry<LocalDateTime, Occupant>> lastByHall = new HashMap<>();
+        for (HallSlot slot : scheduled) {
+            TreeMap<LocalDateTime, Occupant> windows = index.windows(slot.hallId());
+            Map.Entry<LocalDateTime, Occupant> last = lastByHall.get(slot.hallId());
+            if (last != null && last.getValue().end().isAfter(slot.startTime())) {
+                // Overlapping legacy showtimes, keep one merged window so windows stay disjoint
+                if (slot.endTime().isAfter(last.getValue().end())) {
+                    Occupant merged = new Occupant(slot.endTime(), last.getValue().showtimeId(), null);
+                    windows.put(last.getKey(), merged);
+                    lastByHall.put(slot.hallId(), Map.entry(last.getKey(), merged));
+                }
+                continue;
+            }
+            Occupant occupant = new Occupant(slot.endTime(), slot.showtimeId(), null);
+            windows.put(slot.startTime(), occupant);
+            lastByHall.put(slot.hallId(), Map.entry(slot.startTime(), occupant));
+        }
+        return index;
+    }
+
+    //  The occupant of the hall overlapping [start, end), or null if the hall is free
+    public Occupant findConflict(UUID hallId, LocalDateTime start, LocalDateTime end) {
+        TreeMap<LocalDateTime, Occupant> windows = windowsByHall.get(hallId);
+        if (windows == null) {
+            return null;
+        }
+        Map.Entry<LocalDateTime, Occupant> candidate = windows.lowerEntry(end);
+        return candidate != null && candidate.getValue().end().isAfter(start) ? candidate.getValue() : null;
+    }
+
+    //  Occupy a free window with an entry of the request being validated
+    public void add(UUID hallId, LocalDateTime start, LocalDateTime end, int requestIndex) {
+        windows(hallId).put(start, new Occupant(end, null, requestIndex));
+    }
+
+    private TreeMap<LocalDateTime, Occupant> windows(UUID hallId) {
+        return windowsByHall.computeIfAbsent(hallId, id -> new TreeMap<>());
+    }
+}
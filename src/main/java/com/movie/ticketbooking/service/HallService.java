@@ -1,28 +1,51 @@
 package com.movie.ticketbooking.service;
 
+import com.movie.ticketbooking.config.CacheConfig;
 import com.movie.ticketbooking.dao.HallRepository;
+import com.movie.ticketbooking.dto.HallDTO;
 import com.movie.ticketbooking.dto.HallRequestDTO;
+import com.movie.ticketbooking.dto.KeysetPage;
 import com.movie.ticketbooking.model.Hall;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class HallService {
 
     private final HallRepository hallRepository;
+    private final EntityStreamer entityStreamer;
+    private final BulkShowtimeDeleter bulkShowtimeDeleter;
 
-    public HallService(HallRepository hallRepository) {
+    public HallService(HallRepository hallRepository, EntityStreamer entityStreamer,
+                       BulkShowtimeDeleter bulkShowtimeDeleter) {
         this.hallRepository = hallRepository;
+        this.entityStreamer = entityStreamer;
+        this.bulkShowtimeDeleter = bulkShowtimeDeleter;
     }
 
     public List<Hall> getAllHalls() {
         return hallRepository.findAll();
     }
 
-    public Optional<Hall> getHallById(UUID id) {
-        return hallRepository.findById(id);
+    public KeysetPage<Hall> getHallsPage(UUID after, int limit) {
+        return KeysetPage.of(hallRepository.findPageAfter(after, limit), limit, Hall::getId);
+    }
+
+    public void streamAllHalls(Consumer<Hall> consumer) {
+        entityStreamer.forEach(hallRepository::streamAllBy, consumer);
+    }
+
+    // Cached as an immutable snapshot with the hall's theater
+    @Cacheable(cacheNames = CacheConfig.HALLS, unless = "#result == null")
+    public Optional<HallDTO> getHallById(UUID id) {
+        return hallRepository.findWithTheaterById(id).map(HallDTO::from);
     }
 
     public Hall addHall(Hall hall) {
@@ -32,6 +55,11 @@ public class HallService {
         return hallRepository.save(hall);
     }
 
+    // Cached showtimes embed their hall (and its capacity), so they are dropped as well
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.HALLS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SHOWTIMES, allEntries = true)
+    })
     public Optional<Hall> updateHall(UUID id, HallRequestDTO hallDetails) {
         return hallRepository.findById(id).map(existingHall -> {
             existingHall.setName(hallDetails.getName());
@@ -40,11 +68,16 @@ public class HallService {
         });
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.HALLS, key = "#hallId"),
+            @CacheEvict(cacheNames = CacheConfig.SHOWTIMES, allEntries = true)
+    })
+    @Transactional
     public boolean deleteHall(UUID hallId) {
-        Optional<Hall> hall = hallRepository.findById(hallId);
-
-        if (hall.isPresent()) {
-            hallRepository.delete(hall.get()); // Cascade deletion will remove showtimes & tickets
+        if (hallRepository.existsById(hallId)) {
+            // Set-based: showtimes & tickets first, then the hall itself
+            bulkShowtimeDeleter.deleteInHalls(List.of(hallId), "hall " + hallId + " deleted");
+            hallRepository.bulkDeleteById(hallId);
             return true;
         }
         return false;
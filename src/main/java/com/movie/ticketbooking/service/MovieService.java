@@ -1,20 +1,47 @@
 package com.movie.ticketbooking.service;
 
+import com.movie.ticketbooking.config.CacheConfig;
 import com.movie.ticketbooking.dao.MovieRepository;
+import com.movie.ticketbooking.dao.ShowtimeRepository;
+import com.movie.ticketbooking.dao.TicketEventRepository;
+import com.movie.ticketbooking.dto.KeysetPage;
+import com.movie.ticketbooking.dto.MovieDTO;
 import com.movie.ticketbooking.model.Movie;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class MovieService {
 
     private final MovieRepository movieRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final TicketEventRepository ticketEventRepository;
+    private final EntityStreamer entityStreamer;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+    private final OccupancyService occupancyService;
 
-    public MovieService(MovieRepository movieRepository) {
+    public MovieService(MovieRepository movieRepository, ShowtimeRepository showtimeRepository,
+                        TicketEventRepository ticketEventRepository, EntityStreamer entityStreamer,
+                        BookingIntervalIndex bookingIntervalIndex, SeatInventoryService seatInventoryService,
+                        SeatHoldService seatHoldService, OccupancyService occupancyService) {
         this.movieRepository = movieRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.ticketEventRepository = ticketEventRepository;
+        this.entityStreamer = entityStreamer;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.seatInventoryService = seatInventoryService;
+        this.seatHoldService = seatHoldService;
+        this.occupancyService = occupancyService;
     }
 
     // Get all movies
@@ -22,9 +49,20 @@ public class MovieService {
         return movieRepository.findAll();
     }
 
-    // Get movie by ID
-    public Optional<Movie> getMovieById(UUID id) {
-        return movieRepository.findById(id);
+    // Get one keyset page of movies ordered by ID
+    public KeysetPage<Movie> getMoviesPage(UUID after, int limit) {
+        return KeysetPage.of(movieRepository.findPageAfter(after, limit), limit, Movie::getId);
+    }
+
+    // Stream all movies to the consumer without loading the whole table
+    public void streamAllMovies(Consumer<Movie> consumer) {
+        entityStreamer.forEach(movieRepository::streamAllBy, consumer);
+    }
+
+    // Get movie by ID (cached as an immutable snapshot)
+    @Cacheable(cacheNames = CacheConfig.MOVIES, unless = "#result == null")
+    public Optional<MovieDTO> getMovieById(UUID id) {
+        return movieRepository.findById(id).map(MovieDTO::from);
     }
 
     // Save a new movie
@@ -32,7 +70,11 @@ public class MovieService {
         return movieRepository.save(movie);
     }
 
-    // Update movie details
+    // Update movie details (cached showtimes embed the movie, so they are dropped as well)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.MOVIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SHOWTIMES, allEntries = true)
+    })
     public Optional<Movie> updateMovie(UUID id, Movie movieDetails) {
         return movieRepository.findById(id).map(existingMovie -> {
             existingMovie.setTitle(movieDetails.getTitle());
@@ -44,10 +86,25 @@ public class MovieService {
         });
     }
 
-    // Delete a movie
+    // Delete a movie, its showtimes and their tickets go with it; their seat bitmaps, holds and
+    // occupancy counters are dropped once the delete commits
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.MOVIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SHOWTIMES, allEntries = true)
+    })
     public boolean deleteMovie(UUID id) {
         if (movieRepository.existsById(id)) {
+            List<UUID> showtimeIds = showtimeRepository.findIdsByMovieId(id);
+            // Events keep their audit trail but lose the reference to the deleted tickets
+            if (!showtimeIds.isEmpty()) {
+                ticketEventRepository.detachFromShowtimes(showtimeIds);
+            }
             movieRepository.deleteById(id);
+            seatInventoryService.evictAfterCommit(showtimeIds);
+            seatHoldService.dropHoldsAfterCommit(showtimeIds);
+            occupancyService.evictAfterCommit(showtimeIds);
+            bookingIntervalIndex.clear(); // showtimes and their tickets went with the movie
             return true;
         }
         return false;
@@ -0,0 +1,194 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.ShowtimeRepository;
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dto.OccupancyDTO;
+import com.movie.ticketbooking.dto.ShowtimeCapacity;
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import com.movie.ticketbooking.dto.ShowtimeOccupancyDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sold seats per showtime, kept as in-memory {@link LongAdder}s so occupancy, sell-out and "almost full"
+ * checks never count ticket rows. A counter is loaded once from the database on first use and from then on
+ * adjusted by committed bookings and cancellations; loads and adjustments of a showtime run under its
+ * {@link ShowtimeLocks} stripe.
+ * A commit only adjusts the counter it saw during its transaction; if the counter was (re)loaded in between
+ * the load may already include the commit, so the counter is dropped and reloaded on the next read instead.
+ */
+@Service
+public class OccupancyService {
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyService.class);
+
+    private final TicketRepository ticketRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final ShowtimeLocks showtimeLocks;
+    private final double almostFullRatio;
+    private final int defaultDays;
+    private final ConcurrentMap<UUID, LongAdder> soldSeats = new ConcurrentHashMap<>();
+
+    public OccupancyService(TicketRepository ticketRepository, ShowtimeRepository showtimeRepository,
+                            ShowtimeLocks showtimeLocks,
+                            @Value("${booking.occupancy.almost-full-ratio:0.9}") double almostFullRatio,
+                            @Value("${booking.occupancy.default-days:7}") int defaultDays) {
+        this.ticketRepository = ticketRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.showtimeLocks = showtimeLocks;
+        this.almostFullRatio = almostFullRatio;
+        this.defaultDays = defaultDays;
+    }
+
+    //  Sold seats of a showtime, loaded from the database on first use
+    public long getSoldSeats(UUID showtimeId) {
+        LongAdder counter = soldSeats.get(showtimeId);
+        if (counter != null) {
+            return counter.sum();
+        }
+        return showtimeLocks.withLock(showtimeId, () -> {
+            LongAdder current = soldSeats.get(showtimeId);
+            if (current == null) {
+                current = loadCounter(showtimeId);
+                soldSeats.put(showtimeId, current);
+            }
+            return current.sum();
+        });
+    }
+
+    //  Whether every seat of the showtime is sold
+    public boolean isSoldOut(ShowtimeDetails showtime) {
+        return getSoldSeats(showtime.id()) >= showtime.hall().capacity();
+    }
+
+    //  Occupancy of one showtime
+    public ShowtimeOccupancyDTO getShowtimeOccupancy(ShowtimeDetails showtime) {
+        return toOccupancy(new ShowtimeCapacity(showtime.id(), showtime.hall().id(),
+                showtime.startTime(), showtime.hall().capacity()));
+    }
+
+    //  Occupancy of the showtimes of a hall starting in [from, to), from defaults to now and to to from + default-days
+    public OccupancyDTO getHallOccupancy(UUID hallId, LocalDateTime from, LocalDateTime to, int limit) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(defaultDays);
+        checkRange(start, end);
+        return aggregate(hallId, start, end,
+                showtimeRepository.findCapacitiesByHallId(hallId, start, end, Limit.of(limit)));
+    }
+
+    //  Occupancy of the showtimes of a theater starting in [from, to), same defaults as for a hall
+    public OccupancyDTO getTheaterOccupancy(UUID theaterId, LocalDateTime from, LocalDateTime to, int limit) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(defaultDays);
+        checkRange(start, end);
+        return aggregate(theaterId, start, end,
+                showtimeRepository.findCapacitiesByTheaterId(theaterId, start, end, Limit.of(limit)));
+    }
+
+    //  Count sold (or, with a negative delta, returned) seats of a showtime once the current transaction commits
+    public void recordAfterCommit(UUID showtimeId, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            LongAdder seen = soldSeats.get(showtimeId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(showtimeId, seen, delta);
+                }
+            });
+        } else {
+            // Nothing to wait for, drop the counter so the next read loads the change
+            apply(showtimeId, null, delta);
+        }
+    }
+
+    //  Drop the counter of a showtime (e.g. when the showtime is deleted)
+    public void evict(UUID showtimeId) {
+        showtimeLocks.withLock(showtimeId, () -> soldSeats.remove(showtimeId));
+    }
+
+    //  Drop the counters of showtimes once the current transaction deleting them commits (immediately when there
+    //  is none), so a read before the commit cannot load them again from rows that are about to go
+    public void evictAfterCommit(Collection<UUID> showtimeIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    showtimeIds.forEach(OccupancyService.this::evict);
+                }
+            });
+        } else {
+            showtimeIds.forEach(this::evict);
+        }
+    }
+
+    //  Drop every counter, e.g. after tickets were written around the booking path
+    public void clear() {
+        soldSeats.clear();
+    }
+
+    private void apply(UUID showtimeId, LongAdder seen, int delta) {
+        showtimeLocks.withLock(showtimeId, () -> {
+            LongAdder current = soldSeats.get(showtimeId);
+            if (current == null) {
+                return;
+            }
+            if (current == seen) {
+                current.add(delta);
+            } else {
+                soldSeats.remove(showtimeId, current);
+            }
+        });
+    }
+
+    private LongAdder loadCounter(UUID showtimeId) {
+        LongAdder counter = new LongAdder();
+        counter.add(ticketRepository.countByShowtimeId(showtimeId));
+        logger.debug("Loaded occupancy counter for Showtime: {} ({} seats sold)", showtimeId, counter.sum());
+        return counter;
+    }
+
+    private ShowtimeOccupancyDTO toOccupancy(ShowtimeCapacity showtime) {
+        int capacity = showtime.capacity();
+        long sold = getSoldSeats(showtime.showtimeId());
+        double occupancy = capacity == 0 ? 0 : (double) sold / capacity;
+        return new ShowtimeOccupancyDTO(showtime.showtimeId(), showtime.hallId(), showtime.startTime(), capacity,
+                sold, Math.max(0, capacity - sold), occupancy, sold >= capacity, occupancy >= almostFullRatio);
+    }
+
+    private OccupancyDTO aggregate(UUID id, LocalDateTime from, LocalDateTime to, List<ShowtimeCapacity> showtimes) {
+        List<ShowtimeOccupancyDTO> occupancies = new ArrayList<>(showtimes.size());
+        long capacity = 0;
+        long sold = 0;
+        int soldOut = 0;
+        int almostFull = 0;
+        for (ShowtimeCapacity showtime : showtimes) {
+            ShowtimeOccupancyDTO occupancy = toOccupancy(showtime);
+            occupancies.add(occupancy);
+            capacity += occupancy.capacity();
+            sold += occupancy.soldSeats();
+            soldOut += occupancy.soldOut() ? 1 : 0;
+            almostFull += occupancy.almostFull() ? 1 : 0;
+        }
+        return new OccupancyDTO(id, from, to, occupancies.size(), capacity, sold,
+                capacity == 0 ? 0 : (double) sold / capacity, soldOut, almostFull, occupancies);
+    }
+
+    private static void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("`from` must be before `to`.");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * In-process subscriber to the ticket change feed. Every {@code OutboxConsumer} bean is picked up
+ * by the {@link OutboxRelay} and gets its own queue of pending events; a consumer added later only
+ * receives events relayed after it was registered (replay to backfill).
+ * Delivery is at-least-once: after a failure or a replay the same events are delivered again,
+ * so implementations must be idempotent on {@link OutboxEvent#getId()}.
+ */
+public interface OutboxConsumer {
+
+    // Stable name, used as the key of the consumer's pending events and last delivery
+    String getName();
+
+    // Handle a batch of events in ID order; throwing makes the relay retry the batch later
+    // (IDs are not commit-ordered, an event with a lower ID may still arrive in a later batch)
+    void consume(List<OutboxEvent> events);
+}
@@ -0,0 +1,171 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.OutboxEventRepository;
+import com.movie.ticketbooking.model.OutboxEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous, batched writer for the ticket outbox, so book, cancel and seat change do not insert their
+ * {@link OutboxEvent} on the request thread.
+ * Events are queued in a bounded buffer once their transaction commits and written by a background thread
+ * in JDBC batches, either when a batch is full or when the flush interval elapses; the {@link OutboxRelay}
+ * then delivers them as before. When the buffer is full the publisher waits briefly and then writes the
+ * event itself (backpressure instead of loss), and on shutdown every queued event is written before the
+ * relay's final pass.
+ * Events still queued when the process dies are lost: the ticket change is committed, its outbox row not yet.
+ */
+@Service
+@DependsOn("outboxRelay") // destroyed first, so the relay's shutdown pass sees the drained events
+public class OutboxPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxPublisher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    // Synchronous writes run after the caller's commit, where joining its finished transaction would never commit
+    private final TransactionTemplate newTransaction;
+    private final BlockingQueue<OutboxEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMillis;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${booking.outbox.queue-capacity:10000}") int queueCapacity,
+                           @Value("${booking.outbox.flush-size:100}") int batchSize,
+                           @Value("${booking.outbox.flush-interval-ms:200}") long flushIntervalMillis,
+                           @Value("${booking.outbox.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void startWriter() {
+        running = true;
+        writer = Thread.ofPlatform().daemon().name("outbox-writer").start(this::writeEvents);
+    }
+
+    @PreDestroy
+    public void drainAndStop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) * 10);
+
+        List<OutboxEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.info("Draining {} queued outbox events on shutdown", remaining.size());
+            outboxEventRepository.insertAll(remaining);
+        }
+    }
+
+    /**
+     * Queues events for writing. Inside a transaction they are only queued after commit,
+     * so rolled back changes never reach the outbox.
+     */
+    public void publish(OutboxEvent event) {
+        publishAll(List.of(event));
+    }
+
+    public void publishAll(List<OutboxEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(OutboxPublisher.this::enqueue);
+                }
+            });
+        } else {
+            events.forEach(this::enqueue);
+        }
+    }
+
+    //  Events waiting for the writer, a queue that stays near its capacity means the writer cannot keep up
+    public int getQueuedEvents() {
+        return queue.size();
+    }
+
+    private void enqueue(OutboxEvent event) {
+        try {
+            if (running && queue.offer(event, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Buffer full (or shutting down): write on the caller's thread rather than drop the event
+        logger.warn("Outbox queue unavailable, writing {} event synchronously", event.getEventType());
+        newTransaction.executeWithoutResult(status -> outboxEventRepository.insertAll(List.of(event)));
+    }
+
+    private void writeEvents() {
+        List<OutboxEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    OutboxEvent first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+
+                // Keep filling the batch until it is full or the flush interval is over
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    OutboxEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                outboxEventRepository.insertAll(batch);
+                logger.debug("Wrote {} outbox events", batch.size());
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                // The batch is kept and written again after the next flush interval, with fresh IDs
+                batch.forEach(event -> event.setId(null));
+                logger.error("Failed to write {} outbox events, retrying", batch.size(), e);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(flushIntervalNanos);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        // Whatever the writer still holds goes out with the shutdown drain
+        queue.addAll(batch);
+    }
+}
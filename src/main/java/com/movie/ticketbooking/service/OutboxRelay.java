@@ -0,0 +1,165 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.OutboxEventRepository;
+import com.movie.ticketbooking.dao.OutboxOffsetRepository;
+import com.movie.ticketbooking.dao.OutboxPendingRepository;
+import com.movie.ticketbooking.model.OutboxEvent;
+import com.movie.ticketbooking.model.OutboxOffset;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Polls the ticket outbox and delivers new events to every {@link OutboxConsumer} in batches.
+ * Delivery is tracked per event rather than by an ID offset, because pooled sequence IDs neither follow
+ * commit order nor are gap-free: each committed event is first fanned out into one {@code outbox_pending}
+ * row per consumer (and marked relayed) in one transaction, then a consumer's batch and the removal of its
+ * pending rows commit together. An event committed late, after higher IDs were delivered, is simply picked
+ * up by the next poll. Consumers writing to this database see each event exactly once; any other side
+ * effect is at-least-once.
+ * Book, cancel and seat change hand their events to the {@link OutboxPublisher}, which writes them in
+ * batches off the request thread and slows producers down when it falls behind; imports and bulk deletes
+ * write theirs in their own transaction. A final pass on shutdown delivers every event written by then.
+ */
+@Service
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    public record ConsumerStatus(String consumerName, long pendingEvents, long lastEventId,
+                                 LocalDateTime updatedAt) {
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPendingRepository outboxPendingRepository;
+    private final OutboxOffsetRepository outboxOffsetRepository;
+    private final List<OutboxConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    // One relay pass at a time
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxPendingRepository outboxPendingRepository,
+                       OutboxOffsetRepository outboxOffsetRepository,
+                       List<OutboxConsumer> consumers,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${booking.outbox.batch-size:500}") int batchSize,
+                       @Value("${booking.outbox.retention-hours:24}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPendingRepository = outboxPendingRepository;
+        this.outboxOffsetRepository = outboxOffsetRepository;
+        this.consumers = consumers;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval-ms:500}")
+    public void relay() {
+        relayLock.lock();
+        try {
+            fanOut();
+            for (OutboxConsumer consumer : consumers) {
+                try {
+                    deliver(consumer);
+                } catch (RuntimeException e) {
+                    logger.error("Outbox consumer {} failed, its pending events are retried on the next poll",
+                            consumer.getName(), e);
+                }
+            }
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    //  Deliver what is already committed before the application stops
+    @PreDestroy
+    public void drain() {
+        logger.info("Draining the ticket outbox before shutdown");
+        relay();
+    }
+
+    //  Delete events that every consumer has processed and that are past the replay retention
+    @Scheduled(fixedDelayString = "${booking.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteDelivered(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} delivered outbox events", purged);
+        }
+    }
+
+    //  Queue every retained event from the given ID on for a consumer again, returns the number queued
+    public int replay(String consumerName, long fromEventId) {
+        if (consumers.stream().noneMatch(consumer -> consumer.getName().equals(consumerName))) {
+            throw new IllegalArgumentException("Unknown outbox consumer: " + consumerName);
+        }
+        Integer queued = transactionTemplate.execute(status ->
+                outboxPendingRepository.requeueFrom(consumerName, fromEventId));
+        logger.info("Outbox consumer {} will replay {} events from event {}", consumerName, queued, fromEventId);
+        return queued == null ? 0 : queued;
+    }
+
+    public List<ConsumerStatus> getConsumerStatuses() {
+        return consumers.stream()
+                .map(consumer -> {
+                    Optional<OutboxOffset> offset = outboxOffsetRepository.findById(consumer.getName());
+                    return new ConsumerStatus(consumer.getName(),
+                            outboxPendingRepository.countByConsumerName(consumer.getName()),
+                            offset.map(OutboxOffset::getLastEventId).orElse(0L),
+                            offset.map(OutboxOffset::getUpdatedAt).orElse(null));
+                })
+                .toList();
+    }
+
+    // Queue newly committed events for every consumer
+    private void fanOut() {
+        while (true) {
+            List<Long> eventIds = outboxEventRepository.findUnrelayedIds(Limit.of(batchSize));
+            if (eventIds.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                consumers.forEach(consumer -> outboxPendingRepository.enqueue(consumer.getName(), eventIds));
+                outboxEventRepository.markRelayed(eventIds);
+            });
+            if (eventIds.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void deliver(OutboxConsumer consumer) {
+        while (true) {
+            List<OutboxEvent> batch = outboxEventRepository.findPending(consumer.getName(), Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<Long> eventIds = batch.stream().map(OutboxEvent::getId).toList();
+            long lastEventId = eventIds.get(eventIds.size() - 1);
+            transactionTemplate.executeWithoutResult(status -> {
+                consumer.consume(batch);
+                outboxPendingRepository.dequeue(consumer.getName(), eventIds);
+                outboxOffsetRepository.save(new OutboxOffset(consumer.getName(), lastEventId, LocalDateTime.now()));
+            });
+            logger.debug("Delivered {} outbox events to {} (up to {})", batch.size(), consumer.getName(), lastEventId);
+
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+}
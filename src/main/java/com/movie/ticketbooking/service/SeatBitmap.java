@@ -0,0 +1,199 @@
+package com.movie.ticketbooking.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compact seat occupancy map for a single showtime.
+ * Seat {@code n} is bit {@code n - 1}; a set bit means the seat is taken.
+ * Seats are claimed and released with lock-free compare-and-set on 64-seat words.
+ */
+public final class SeatBitmap {
+
+    private final int capacity;
+    private final AtomicLongArray words;
+
+    public SeatBitmap(int capacity) {
+        this.capacity = capacity;
+        this.words = new AtomicLongArray((capacity + 63) >>> 6);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isTaken(int seatNumber) {
+        checkSeat(seatNumber);
+        return (words.get(wordIndex(seatNumber)) & bitMask(seatNumber)) != 0;
+    }
+
+    /**
+     * Atomically marks the seat as taken.
+     *
+     * @return {@code true} if this call claimed the seat, {@code false} if it was already taken
+     */
+    public boolean claim(int seatNumber) {
+        checkSeat(seatNumber);
+        int index = wordIndex(seatNumber);
+        long mask = bitMask(seatNumber);
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Atomically marks the seat as free.
+     *
+     * @return {@code true} if the seat was taken before this call
+     */
+    public boolean release(int seatNumber) {
+        checkSeat(seatNumber);
+        int index = wordIndex(seatNumber);
+        long mask = bitMask(seatNumber);
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, current, current & ~mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Claims all given seats or none of them.
+     *
+     * @return {@code 0} if every seat was claimed, otherwise the first seat that was already taken
+     */
+    public int claimAll(List<Integer> seatNumbers) {
+        // Validate up front, an out-of-range seat must not leave the earlier seats claimed
+        seatNumbers.forEach(this::checkSeat);
+        for (int i = 0; i < seatNumbers.size(); i++) {
+            if (!claim(seatNumbers.get(i))) {
+                for (int j = 0; j < i; j++) {
+                    release(seatNumbers.get(j));
+                }
+                return seatNumbers.get(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the block of {@code count} adjacent free seats closest to the middle of the hall.
+     * Free runs are found a 64-seat word at a time, so the scan is O(capacity / 64).
+     *
+     * @return the first seat of the best block, or {@code 0} if no block is free
+     */
+    public int findBestBlock(int count) {
+        if (count <= 0 || count > capacity) {
+            return 0;
+        }
+
+        double center = (capacity + 1) / 2.0;
+        double halfBlock = (count - 1) / 2.0;
+        int bestStart = 0;
+        double bestDistance = Double.MAX_VALUE;
+
+        int runStart = nextFree(1);
+        while (runStart != 0 && runStart + count - 1 <= capacity) {
+            int runEnd = nextTaken(runStart) - 1;
+            if (runEnd - runStart + 1 >= count) {
+                // Slide the block inside the run as close to the center as it allows
+                int idealStart = (int) Math.round(center - halfBlock);
+                int start = Math.max(runStart, Math.min(idealStart, runEnd - count + 1));
+                double distance = Math.abs(start + halfBlock - center);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    bestStart = start;
+                }
+            }
+            if (runEnd >= capacity) {
+                break;
+            }
+            runStart = nextFree(runEnd + 1);
+        }
+        return bestStart;
+    }
+
+    /**
+     * Run-length encoding of the taken seats as {@code [firstSeat, lastSeat]} pairs.
+     */
+    public List<int[]> takenRanges() {
+        List<int[]> ranges = new ArrayList<>();
+        int runStart = nextTaken(1);
+        while (runStart <= capacity) {
+            int nextFreeSeat = nextFree(runStart);
+            int runEnd = nextFreeSeat == 0 ? capacity : nextFreeSeat - 1;
+            ranges.add(new int[]{runStart, runEnd});
+            if (nextFreeSeat == 0) {
+                break;
+            }
+            runStart = nextTaken(nextFreeSeat);
+        }
+        return ranges;
+    }
+
+    public int countTaken() {
+        int taken = 0;
+        for (int i = 0; i < words.length(); i++) {
+            taken += Long.bitCount(words.get(i));
+        }
+        return taken;
+    }
+
+    // First free seat at or after fromSeat, or 0 if there is none
+    private int nextFree(int fromSeat) {
+        int index = wordIndex(fromSeat);
+        if (index >= words.length()) {
+            return 0;
+        }
+        long free = ~words.get(index) & (-1L << ((fromSeat - 1) & 63));
+        while (free == 0) {
+            if (++index == words.length()) {
+                return 0;
+            }
+            free = ~words.get(index);
+        }
+        int seat = (index << 6) + Long.numberOfTrailingZeros(free) + 1;
+        return seat <= capacity ? seat : 0;
+    }
+
+    // First taken seat at or after fromSeat, or capacity + 1 if there is none
+    private int nextTaken(int fromSeat) {
+        int index = wordIndex(fromSeat);
+        if (index >= words.length()) {
+            return capacity + 1;
+        }
+        long taken = words.get(index) & (-1L << ((fromSeat - 1) & 63));
+        while (taken == 0) {
+            if (++index == words.length()) {
+                return capacity + 1;
+            }
+            taken = words.get(index);
+        }
+        return Math.min((index << 6) + Long.numberOfTrailingZeros(taken) + 1, capacity + 1);
+    }
+
+    private void checkSeat(int seatNumber) {
+        if (seatNumber <= 0 || seatNumber > capacity) {
+            throw new IllegalArgumentException("Seat " + seatNumber + " is outside 1.." + capacity);
+        }
+    }
+
+    private static int wordIndex(int seatNumber) {
+        return (seatNumber - 1) >>> 6;
+    }
+
+    private static long bitMask(int seatNumber) {
+        return 1L << ((seatNumber - 1) & 63);
+    }
+}
@@ -0,0 +1,32 @@
+package com.movie.ticketbooking.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A temporary claim on a seat while the user completes checkout.
+ * Immutable: extending a hold replaces it with a new instance, so the expirer can
+ * detect a concurrent extension with a simple compare-and-remove.
+ * Expiry follows the monotonic {@code deadlineNanos} ({@link System#nanoTime()}), so wall-clock
+ * changes neither release a hold early nor keep it too long; {@code expiresAt} is only shown to clients.
+ */
+public record SeatHold(UUID id, UUID showtimeId, UUID userId, int seatNumber,
+                       LocalDateTime expiresAt, int extensions, @JsonIgnore long deadlineNanos) {
+
+    public static SeatHold create(UUID showtimeId, UUID userId, int seatNumber, Duration ttl) {
+        return new SeatHold(UUID.randomUUID(), showtimeId, userId, seatNumber,
+                LocalDateTime.now().plus(ttl), 0, System.nanoTime() + ttl.toNanos());
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public SeatHold extendedBy(Duration ttl) {
+        return new SeatHold(id, showtimeId, userId, seatNumber, LocalDateTime.now().plus(ttl), extensions + 1,
+                System.nanoTime() + ttl.toNanos());
+    }
+}
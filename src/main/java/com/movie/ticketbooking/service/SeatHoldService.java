@@ -0,0 +1,205 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import com.movie.ticketbooking.dto.UserDTO;
+import com.movie.ticketbooking.exception.HoldNotFoundException;
+import com.movie.ticketbooking.exception.SeatAlreadyBookedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temporary seat holds kept entirely in memory.
+ * A hold claims the seat in the {@link SeatInventoryService} bitmap; nothing is written to the
+ * database until the hold is confirmed into a ticket. Expired holds are released by a single
+ * background thread waiting on a {@link DelayQueue}, so expiry never scans the active holds.
+ */
+@Service
+public class SeatHoldService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldService.class);
+
+    private final SeatInventoryService seatInventoryService;
+    private final Duration holdTtl;
+    private final int maxExtensions;
+    private final boolean virtualThreads;
+
+    private final ConcurrentMap<UUID, SeatHold> holds = new ConcurrentHashMap<>();
+    private final DelayQueue<HoldExpiry> expiries = new DelayQueue<>();
+    private Thread expirer;
+
+    public SeatHoldService(SeatInventoryService seatInventoryService,
+                           @Value("${booking.holds.ttl-seconds:600}") long ttlSeconds,
+                           @Value("${booking.holds.max-extensions:2}") int maxExtensions,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.seatInventoryService = seatInventoryService;
+        this.holdTtl = Duration.ofSeconds(ttlSeconds);
+        this.maxExtensions = maxExtensions;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @PostConstruct
+    public void startExpirer() {
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        expirer = builder.name("seat-hold-expirer").start(this::expireHolds);
+    }
+
+    @PreDestroy
+    public void stopExpirer() {
+        expirer.interrupt();
+    }
+
+    //  Place a hold on a free seat
+    public SeatHold holdSeat(ShowtimeDetails showtime, UserDTO user, int seatNumber) {
+        logger.info("Attempting to hold seat {} for User: {}, Showtime: {}", seatNumber, user.id(), showtime.id());
+
+        if (seatNumber <= 0 || seatNumber > showtime.hall().capacity()) {
+            logger.warn("Hold failed. Seat number {} is out of valid range.", seatNumber);
+            throw new IllegalArgumentException("Invalid seat number! Must be between 1 and " +
+                    showtime.hall().capacity());
+        }
+
+        if (LocalDateTime.now().isAfter(showtime.startTime().minusHours(3))) {
+            logger.warn("Hold failed. Cannot book tickets within 3 hours of showtime.");
+            throw new IllegalArgumentException("Cannot book tickets within 3 hours of showtime.");
+        }
+
+        if (!seatInventoryService.claimSeat(showtime, seatNumber)) {
+            logger.warn("Hold failed. Seat {} is already taken for Showtime: {}", seatNumber, showtime.id());
+            throw new SeatAlreadyBookedException(showtime.id(), seatNumber);
+        }
+
+        SeatHold hold = SeatHold.create(showtime.id(), user.id(), seatNumber, holdTtl);
+        holds.put(hold.id(), hold);
+        expiries.add(new HoldExpiry(hold.id(), hold.deadlineNanos()));
+        logger.info("Seat {} held for Showtime: {} until {}. Hold ID: {}",
+                seatNumber, showtime.id(), hold.expiresAt(), hold.id());
+        return hold;
+    }
+
+    //  Drop every hold on the given showtimes once the current transaction deleting them commits (immediately when
+    //  there is none); their seats are not released, the bitmaps of deleted showtimes are evicted instead
+    public void dropHoldsAfterCommit(Collection<UUID> showtimeIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dropHolds(showtimeIds);
+                }
+            });
+        } else {
+            dropHolds(showtimeIds);
+        }
+    }
+
+    //  Get an active hold
+    public Optional<SeatHold> getHold(UUID holdId) {
+        return Optional.ofNullable(holds.get(holdId)).filter(hold -> !hold.isExpired());
+    }
+
+    //  Push the expiry of an active hold forward by one TTL
+    public SeatHold extendHold(UUID holdId) {
+        SeatHold extended = holds.computeIfPresent(holdId, (id, hold) -> {
+            if (hold.isExpired()) {
+                return hold; // the expirer will reap it
+            }
+            if (hold.extensions() >= maxExtensions) {
+                throw new IllegalArgumentException("Hold cannot be extended any further.");
+            }
+            return hold.extendedBy(holdTtl);
+        });
+
+        if (extended == null || extended.isExpired()) {
+            logger.warn("Hold extension failed. Hold {} not found or expired.", holdId);
+            throw new HoldNotFoundException(holdId);
+        }
+
+        expiries.add(new HoldExpiry(holdId, extended.deadlineNanos()));
+        logger.info("Hold {} extended until {}", holdId, extended.expiresAt());
+        return extended;
+    }
+
+    //  Release a hold and free its seat
+    public boolean releaseHold(UUID holdId) {
+        SeatHold hold = holds.remove(holdId);
+        if (hold == null) {
+            return false;
+        }
+        seatInventoryService.releaseSeat(hold.showtimeId(), hold.seatNumber());
+        logger.info("Hold {} released, seat {} is free again", holdId, hold.seatNumber());
+        return true;
+    }
+
+    /**
+     * Removes an active hold so it can be confirmed into a ticket.
+     * The seat stays claimed in the inventory; from here on the caller owns it.
+     */
+    public SeatHold takeHold(UUID holdId) {
+        SeatHold hold = holds.remove(holdId);
+        if (hold == null) {
+            throw new HoldNotFoundException(holdId);
+        }
+        if (hold.isExpired()) {
+            seatInventoryService.releaseSeat(hold.showtimeId(), hold.seatNumber());
+            throw new HoldNotFoundException(holdId);
+        }
+        return hold;
+    }
+
+    private void dropHolds(Collection<UUID> showtimeIds) {
+        Set<UUID> deleted = Set.copyOf(showtimeIds);
+        // Queued expiries of the dropped holds find nothing and are skipped
+        if (holds.values().removeIf(hold -> deleted.contains(hold.showtimeId()))) {
+            logger.info("Dropped seat holds on {} deleted showtimes", deleted.size());
+        }
+    }
+
+    private void expireHolds() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                HoldExpiry expiry = expiries.take();
+                SeatHold hold = holds.get(expiry.holdId());
+                // A hold that was extended is a different instance, so remove(key, value) leaves it alone
+                if (hold != null && hold.isExpired() && holds.remove(expiry.holdId(), hold)) {
+                    seatInventoryService.releaseSeat(hold.showtimeId(), hold.seatNumber());
+                    logger.info("Hold {} expired, seat {} released for Showtime: {}",
+                            hold.id(), hold.seatNumber(), hold.showtimeId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("Failed to expire seat hold", e);
+            }
+        }
+    }
+
+    // Queued on the hold's System.nanoTime() deadline, immune to wall-clock changes
+    private record HoldExpiry(UUID holdId, long deadlineNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
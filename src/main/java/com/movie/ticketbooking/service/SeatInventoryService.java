@@ -0,0 +1,249 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dto.SeatMapDTO;
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory seat inventory: one {@link SeatBitmap} per showtime, loaded lazily from the
+ * booked seat numbers and sized from the hall capacity.
+ * Seat availability is decided here; the database only persists confirmed tickets.
+ * Reads are lock-free; every mutation and bitmap install of a showtime runs under its
+ * {@link ShowtimeLocks} stripe, so a rebuild can never lose a concurrent claim. The booked seats are
+ * queried before the stripe is taken, so no lock is held during a database round trip.
+ */
+@Service
+public class SeatInventoryService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventoryService.class);
+
+    private final TicketRepository ticketRepository;
+    private final ShowtimeLocks showtimeLocks;
+    private final ConcurrentMap<UUID, SeatBitmap> bitmaps = new ConcurrentHashMap<>();
+    // Showtimes whose bitmap missed a booking made elsewhere, rebuilt on their next use
+    private final Set<UUID> stale = ConcurrentHashMap.newKeySet();
+    // Per showtime, bumped on every release and invalidation; a load of that showtime that overlapped one
+    // may be out of date and is redone
+    private final ConcurrentMap<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    public SeatInventoryService(TicketRepository ticketRepository, ShowtimeLocks showtimeLocks) {
+        this.ticketRepository = ticketRepository;
+        this.showtimeLocks = showtimeLocks;
+    }
+
+    //  Get (or load) the seat bitmap of a showtime
+    public SeatBitmap getSeatBitmap(ShowtimeDetails showtime) {
+        UUID showtimeId = showtime.id();
+        int capacity = showtime.hall().capacity();
+
+        SeatBitmap bitmap = bitmaps.get(showtimeId);
+        if (bitmap != null && bitmap.getCapacity() == capacity && !stale.contains(showtimeId)) {
+            return bitmap;
+        }
+        // First use, the hall was resized or the bitmap was invalidated since it was built
+        while (true) {
+            long versionBefore = versions.getOrDefault(showtimeId, 0L);
+            List<Integer> bookedSeats = ticketRepository.findSeatNumbersByShowtimeId(showtimeId);
+            SeatBitmap installed = showtimeLocks.withLock(showtimeId, () -> {
+                SeatBitmap current = bitmaps.get(showtimeId);
+                if (current != null && current.getCapacity() == capacity && !stale.contains(showtimeId)) {
+                    return current;
+                }
+                if (versions.getOrDefault(showtimeId, 0L) != versionBefore) {
+                    return null;
+                }
+                SeatBitmap loaded = buildSeatBitmap(showtimeId, capacity, bookedSeats, current);
+                bitmaps.put(showtimeId, loaded);
+                stale.remove(showtimeId);
+                return loaded;
+            });
+            if (installed != null) {
+                return installed;
+            }
+        }
+    }
+
+    //  Compact seat map of a showtime, served from the in-memory bitmap
+    public SeatMapDTO getSeatMap(ShowtimeDetails showtime) {
+        SeatBitmap bitmap = getSeatBitmap(showtime);
+        int taken = bitmap.countTaken();
+        return new SeatMapDTO(showtime.id(), bitmap.getCapacity(), taken,
+                bitmap.getCapacity() - taken, bitmap.takenRanges());
+    }
+
+    //  Claim a seat, returns false if it is already taken
+    public boolean claimSeat(ShowtimeDetails showtime, int seatNumber) {
+        return withBitmap(showtime, bitmap -> bitmap.claim(seatNumber));
+    }
+
+    //  Claim several seats atomically, returns 0 on success or the first seat that is already taken
+    public int claimSeats(ShowtimeDetails showtime, List<Integer> seatNumbers) {
+        return withBitmap(showtime, bitmap -> bitmap.claimAll(seatNumbers));
+    }
+
+    //  Claim the best block of adjacent free seats, returns an empty list if no block is free
+    public List<Integer> claimBestSeats(ShowtimeDetails showtime, int count) {
+        return withBitmap(showtime, bitmap -> {
+            int firstSeat = bitmap.findBestBlock(count);
+            if (firstSeat == 0) {
+                return List.<Integer>of();
+            }
+            // No other claim can run between the scan and the claim while the stripe is held
+            List<Integer> seatNumbers = IntStream.range(firstSeat, firstSeat + count).boxed().toList();
+            bitmap.claimAll(seatNumbers);
+            return seatNumbers;
+        });
+    }
+
+    //  Free a previously claimed seat
+    public void releaseSeat(UUID showtimeId, int seatNumber) {
+        releaseSeats(showtimeId, List.of(seatNumber));
+    }
+
+    public void releaseSeats(UUID showtimeId, List<Integer> seatNumbers) {
+        showtimeLocks.withLock(showtimeId, () -> {
+            versions.merge(showtimeId, 1L, Long::sum);
+            SeatBitmap bitmap = bitmaps.get(showtimeId);
+            if (bitmap == null) {
+                return;
+            }
+            for (int seatNumber : seatNumbers) {
+                if (seatNumber > 0 && seatNumber <= bitmap.getCapacity()) {
+                    bitmap.release(seatNumber);
+                }
+            }
+        });
+    }
+
+    //  Release the seats if the current transaction rolls back (immediately when there is none)
+    public void releaseUnlessCommitted(UUID showtimeId, List<Integer> seatNumbers) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        releaseSeats(showtimeId, seatNumbers);
+                    }
+                }
+            });
+        }
+    }
+
+    //  Release a seat once the current transaction commits (immediately when there is none)
+    public void releaseAfterCommit(UUID showtimeId, int seatNumber) {
+        releaseAfterCommit(showtimeId, List.of(seatNumber));
+    }
+
+    public void releaseAfterCommit(UUID showtimeId, List<Integer> seatNumbers) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseSeats(showtimeId, seatNumbers);
+                }
+            });
+        } else {
+            releaseSeats(showtimeId, seatNumbers);
+        }
+    }
+
+    //  Rebuild the bitmap from the database (keeping current claims) on its next use after the current transaction
+    //  completes; the rebuild runs on the request that needs the bitmap, not on the completing thread
+    public void invalidateAfterCompletion(UUID showtimeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(showtimeId);
+                }
+            });
+        } else {
+            invalidate(showtimeId);
+        }
+    }
+
+    //  Rebuild every loaded bitmap on its next use, e.g. after tickets were written around the booking path
+    public void invalidateAll() {
+        bitmaps.keySet().forEach(this::invalidate);
+    }
+
+    private void invalidate(UUID showtimeId) {
+        showtimeLocks.withLock(showtimeId, () -> {
+            versions.merge(showtimeId, 1L, Long::sum);
+            stale.add(showtimeId);
+        });
+    }
+
+    //  Drop the bitmap of a showtime (e.g. when the showtime is deleted)
+    public void evict(UUID showtimeId) {
+        showtimeLocks.withLock(showtimeId, () -> {
+            bitmaps.remove(showtimeId);
+            stale.remove(showtimeId);
+            versions.remove(showtimeId);
+        });
+    }
+
+    //  Drop the bitmaps of showtimes once the current transaction deleting them commits (immediately when there is none);
+    //  dropping them earlier would let a concurrent read reload them from rows that are about to go
+    public void evictAfterCommit(Collection<UUID> showtimeIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    showtimeIds.forEach(SeatInventoryService.this::evict);
+                }
+            });
+        } else {
+            showtimeIds.forEach(this::evict);
+        }
+    }
+
+    // Runs the action under the showtime's stripe on its current bitmap, which is loaded before the stripe is
+    // taken; if the bitmap was replaced in between, it is fetched again
+    private <T> T withBitmap(ShowtimeDetails showtime, Function<SeatBitmap, T> action) {
+        UUID showtimeId = showtime.id();
+        while (true) {
+            SeatBitmap bitmap = getSeatBitmap(showtime);
+            Optional<T> result = showtimeLocks.withLock(showtimeId, () -> bitmaps.get(showtimeId) == bitmap
+                    ? Optional.of(action.apply(bitmap))
+                    : Optional.<T>empty());
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
+    }
+
+    // Booked seats from the database plus the claims of the previous bitmap (holds and bookings in flight)
+    private SeatBitmap buildSeatBitmap(UUID showtimeId, int capacity, List<Integer> bookedSeats, SeatBitmap previous) {
+        SeatBitmap bitmap = new SeatBitmap(capacity);
+        for (int seatNumber : bookedSeats) {
+            if (seatNumber > 0 && seatNumber <= capacity) {
+                bitmap.claim(seatNumber);
+            }
+        }
+        if (previous != null) {
+            for (int[] range : previous.takenRanges()) {
+                for (int seatNumber = range[0]; seatNumber <= Math.min(range[1], capacity); seatNumber++) {
+                    bitmap.claim(seatNumber);
+                }
+            }
+        }
+        logger.info("Loaded seat bitmap for Showtime: {} ({} of {} seats taken)",
+                showtimeId, bookedSeats.size(), capacity);
+        return bitmap;
+    }
+}
@@ -0,0 +1,53 @@
+package com.movie.ticketbooking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks keyed by showtime ID: seat mutations of one showtime are serialized, while
+ * showtimes on different stripes proceed in parallel. The stripe count is rounded up to a power
+ * of two. {@link ReentrantLock} rather than {@code synchronized} so a waiting virtual thread
+ * never pins its carrier.
+ */
+@Component
+public class ShowtimeLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public ShowtimeLocks(@Value("${booking.seat-locks.stripes:1024}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    //  Run the action while holding the lock of the showtime's stripe
+    public <T> T withLock(UUID showtimeId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(showtimeId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void withLock(UUID showtimeId, Runnable action) {
+        withLock(showtimeId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private ReentrantLock stripeFor(UUID showtimeId) {
+        int hash = showtimeId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
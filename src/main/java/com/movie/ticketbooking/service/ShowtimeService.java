@@ -1,58 +1,158 @@
 package com.movie.ticketbooking.service;
 
+import com.movie.ticketbooking.config.CacheConfig;
+import com.movie.ticketbooking.dao.HallRepository;
+import com.movie.ticketbooking.dao.MovieRepository;
 import com.movie.ticketbooking.dao.ShowtimeRepository;
+import com.movie.ticketbooking.dao.TheaterRepository;
+import com.movie.ticketbooking.dao.TicketEventRepository;
+import com.movie.ticketbooking.dto.HallDTO;
+import com.movie.ticketbooking.dto.HallSlot;
+import com.movie.ticketbooking.dto.KeysetPage;
+import com.movie.ticketbooking.dto.ScheduleConflictDTO;
+import com.movie.ticketbooking.dto.MovieDTO;
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import com.movie.ticketbooking.dto.ShowtimeSearchCriteria;
+import com.movie.ticketbooking.dto.ShowtimeSummaryDTO;
 import com.movie.ticketbooking.dto.ShowtimeRequestDTO;
+import com.movie.ticketbooking.exception.ShowtimeConflictException;
 import com.movie.ticketbooking.model.Showtime;
-import com.movie.ticketbooking.model.Movie;
 import com.movie.ticketbooking.model.Hall;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 public class ShowtimeService {
 
     private final ShowtimeRepository showtimeRepository;
+    private final MovieRepository movieRepository;
+    private final TheaterRepository theaterRepository;
+    private final HallRepository hallRepository;
+    private final TicketEventRepository ticketEventRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+    private final EntityStreamer entityStreamer;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final OccupancyService occupancyService;
+    // Schedule changes are serialized so a conflict check and its write cannot interleave with another change
+    private final ReentrantLock scheduleLock = new ReentrantLock();
 
-    public ShowtimeService(ShowtimeRepository showtimeRepository) {
+    public ShowtimeService(ShowtimeRepository showtimeRepository, MovieRepository movieRepository,
+                           TheaterRepository theaterRepository, HallRepository hallRepository,
+                           TicketEventRepository ticketEventRepository, SeatInventoryService seatInventoryService,
+                           SeatHoldService seatHoldService, EntityStreamer entityStreamer,
+                           BookingIntervalIndex bookingIntervalIndex, OccupancyService occupancyService) {
         this.showtimeRepository = showtimeRepository;
+        this.movieRepository = movieRepository;
+        this.theaterRepository = theaterRepository;
+        this.hallRepository = hallRepository;
+        this.ticketEventRepository = ticketEventRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.seatHoldService = seatHoldService;
+        this.entityStreamer = entityStreamer;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.occupancyService = occupancyService;
     }
 
     //  Get all showtimes
-    public List<Showtime> getAllShowtimes() {
-        return showtimeRepository.findAll();
+    public List<ShowtimeSummaryDTO> getAllShowtimes() {
+        return showtimeRepository.findViews(Limit.unlimited());
     }
 
-    //  Get showtime by ID
-    public Optional<Showtime> getShowtimeById(UUID id) {
-        return showtimeRepository.findById(id);
+    //  Get one keyset page of showtimes ordered by ID
+    public KeysetPage<ShowtimeSummaryDTO> getShowtimesPage(UUID after, int limit) {
+        return KeysetPage.of(showtimeRepository.findViewPageAfter(after, limit), limit, ShowtimeSummaryDTO::getId);
     }
 
-    //  Add a new showtime
-    public Showtime addShowtime(Showtime showtime) {
-        return showtimeRepository.save(showtime);
+    //  Stream all showtimes to the consumer without loading the whole table
+    public void streamAllShowtimes(Consumer<ShowtimeSummaryDTO> consumer) {
+        entityStreamer.forEach(showtimeRepository::streamViews, consumer);
+    }
+
+    //  Search showtimes starting in a time window, narrowed by movie, theater and/or hall and optionally genre;
+    //  genre alone has no index to range-scan, so it is only accepted next to one of the others
+    public List<ShowtimeSummaryDTO> searchShowtimes(ShowtimeSearchCriteria criteria) {
+        if (!criteria.from().isBefore(criteria.to())) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (criteria.movieId() == null && criteria.theaterId() == null && criteria.hallId() == null) {
+            throw new IllegalArgumentException("Filter by at least one of movieId, theaterId or hallId");
+        }
+        return showtimeRepository.search(criteria);
+    }
+
+    //  Get showtime by ID (cached as an immutable snapshot with its movie, theater and hall)
+    @Cacheable(cacheNames = CacheConfig.SHOWTIMES, unless = "#result == null")
+    public Optional<ShowtimeDetails> getShowtimeById(UUID id) {
+        return showtimeRepository.findDetailedById(id).map(ShowtimeDetails::from);
+    }
+
+    //  Add a new showtime, the hall must be free during its time window; returns it with its new ID
+    public ShowtimeDetails addShowtime(ShowtimeDetails showtime) {
+        return withScheduleLock(() -> {
+            checkSchedule(List.of(showtime), null);
+            return showtime.withId(showtimeRepository.save(toEntity(showtime)).getId());
+        });
+    }
+
+    //  Add a whole schedule at once: all showtimes are checked against their halls (and each other),
+    //  then inserted in JDBC batches in one transaction, or none is if any conflicts; returns the new IDs
+    public List<UUID> addShowtimes(List<ShowtimeDetails> showtimes) {
+        return withScheduleLock(() -> {
+            checkSchedule(showtimes, null);
+            return showtimeRepository.insertAll(showtimes.stream().map(this::toEntity).toList()).stream()
+                    .map(Showtime::getId)
+                    .toList();
+        });
     }
 
     //  Update an existing showtime
-    public Optional<Showtime> updateShowtime(UUID id, ShowtimeRequestDTO showtimeDTO, Movie movie, Hall hall) {
-        return showtimeRepository.findById(id).map(existingShowtime -> {
-            existingShowtime.setMovie(movie);
-            existingShowtime.setHall(hall);
-            existingShowtime.setTheater(hall.getTheater()); // Ensure correct theater from Hall
+    @CacheEvict(cacheNames = CacheConfig.SHOWTIMES, key = "#id")
+    public Optional<ShowtimeDetails> updateShowtime(UUID id, ShowtimeRequestDTO showtimeDTO, MovieDTO movie, HallDTO hall) {
+        ShowtimeDetails updated = new ShowtimeDetails(id, showtimeDTO.getStartTime(), showtimeDTO.getEndTime(), movie, hall);
+        return withScheduleLock(() -> showtimeRepository.findById(id).map(existingShowtime -> {
+            checkSchedule(List.of(updated), id);
+
+            existingShowtime.setMovie(movieRepository.getReferenceById(movie.id()));
+            existingShowtime.setHall(hallRepository.getReferenceById(hall.id()));
+            existingShowtime.setTheater(theaterRepository.getReferenceById(hall.theaterId())); // Ensure correct theater from Hall
             existingShowtime.setStartTime(showtimeDTO.getStartTime());
             existingShowtime.setEndTime(showtimeDTO.getEndTime());
 
-            return showtimeRepository.save(existingShowtime);
-        });
+            showtimeRepository.save(existingShowtime);
+            bookingIntervalIndex.evictShowtime(id); // ticket holders' booked windows moved
+            return updated;
+        }));
     }
 
-    //  Delete showtime by ID
+    //  Delete showtime by ID, its tickets go with it; its seat bitmap, holds, occupancy counter and the booked
+    //  windows of its ticket holders are dropped once the delete commits
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SHOWTIMES, key = "#id")
     public boolean deleteShowtime(UUID id) {
         if (showtimeRepository.existsById(id)) {
+            List<UUID> showtimeIds = List.of(id);
+            bookingIntervalIndex.evictShowtimeAfterCommit(id);
+            // Events keep their audit trail but lose the reference to the deleted tickets
+            ticketEventRepository.detachFromShowtimes(showtimeIds);
             showtimeRepository.deleteById(id);
+            seatInventoryService.evictAfterCommit(showtimeIds);
+            seatHoldService.dropHoldsAfterCommit(showtimeIds);
+            occupancyService.evictAfterCommit(showtimeIds);
             return true;
         }
         return false;
@@ -60,12 +160,64 @@ public class ShowtimeService {
 
     //  Get only halls where a specific movie is screening
     public List<Hall> getHallsByMovie(UUID movieId) {
-        List<Showtime> showtimes = showtimeRepository.findAllByMovieId(movieId);
+        return showtimeRepository.findHallsByMovieId(movieId);
+    }
 
-        // Extract unique halls
-        return showtimes.stream()
-                .map(Showtime::getHall)
-                .distinct()
-                .collect(Collectors.toList());
+    // Reject showtimes without a valid time window or overlapping a showtime of the same hall,
+    // scheduled or earlier in the list (replacedId is the showtime being moved, if any)
+    private void checkSchedule(List<ShowtimeDetails> showtimes, UUID replacedId) {
+        if (showtimes.isEmpty()) {
+            return;
+        }
+        Set<UUID> hallIds = new HashSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (ShowtimeDetails showtime : showtimes) {
+            if (showtime.startTime() == null || showtime.endTime() == null
+                    || !showtime.startTime().isBefore(showtime.endTime())) {
+                throw new IllegalArgumentException("Showtime must have a start time before its end time.");
+            }
+            hallIds.add(showtime.hall().id());
+            from = from == null || showtime.startTime().isBefore(from) ? showtime.startTime() : from;
+            to = to == null || showtime.endTime().isAfter(to) ? showtime.endTime() : to;
+        }
+
+        List<HallSlot> scheduled = showtimeRepository.findHallSlots(hallIds, from, to).stream()
+                .filter(slot -> !slot.showtimeId().equals(replacedId))
+                .toList();
+        HallScheduleIndex index = HallScheduleIndex.of(scheduled);
+
+        List<ScheduleConflictDTO> conflicts = new ArrayList<>();
+        for (int i = 0; i < showtimes.size(); i++) {
+            ShowtimeDetails showtime = showtimes.get(i);
+            UUID hallId = showtime.hall().id();
+            HallScheduleIndex.Occupant occupant = index.findConflict(hallId, showtime.startTime(), showtime.endTime());
+            if (occupant != null) {
+                conflicts.add(new ScheduleConflictDTO(i, hallId, showtime.startTime(), showtime.endTime(),
+                        occupant.showtimeId(), occupant.requestIndex()));
+            } else {
+                index.add(hallId, showtime.startTime(), showtime.endTime(), i);
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new ShowtimeConflictException(conflicts);
+        }
+    }
+
+    // New entity pointing at its movie, theater and hall by reference, the cached snapshots are never attached
+    private Showtime toEntity(ShowtimeDetails showtime) {
+        return new Showtime(movieRepository.getReferenceById(showtime.movie().id()),
+                theaterRepository.getReferenceById(showtime.hall().theaterId()),
+                hallRepository.getReferenceById(showtime.hall().id()),
+                showtime.startTime(), showtime.endTime());
+    }
+
+    private <T> T withScheduleLock(Supplier<T> action) {
+        scheduleLock.lock();
+        try {
+            return action.get();
+        } finally {
+            scheduleLock.unlock();
+        }
     }
 }
@@ -0,0 +1,327 @@
+package com.movie.ticketbooking.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Deterministic bulk generator for theaters, halls, movies, users, showtimes and tickets.
+ * Every row (including its ID) is derived from {@code booking.seed.random-seed} and its own index,
+ * so the same settings always produce the same data set however the work is split across threads.
+ * Rows are written with batched JDBC inserts, one transaction per chunk, chunks in parallel.
+ * <p>
+ * Showtimes fill fixed time slots, {@code slots-per-day} a day and {@value #SLOT_HOURS} hours apart,
+ * in every hall. Within a time slot each hall sells seats to its own window of consecutive users,
+ * so nobody is booked into two overlapping showtimes and seat numbers never collide.
+ * <p>
+ * Progress is logged every 10% of a phase and can be polled with {@link #getProgress()}.
+ */
+@Service
+public class SyntheticDataGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final int SLOT_HOURS = 3;
+    private static final int LAST_SLOT_HOUR = 21;
+    private static final int SHOW_MINUTES = 120;
+    private static final int USER_CHUNK_SIZE = 10_000;
+    private static final String[] GENRES = {"Action", "Drama", "Sci-Fi", "Comedy", "Romance", "Crime", "Animation", "Horror"};
+    private static final double[] PRICES = {9.99, 12.99, 15.99};
+
+    // Entity kinds, mixed into IDs and random streams so they never collide
+    private static final int THEATER = 1;
+    private static final int HALL = 2;
+    private static final int MOVIE = 3;
+    private static final int USER = 4;
+    private static final int SHOWTIME = 5;
+    private static final int TICKET = 6;
+    private static final int TIME_SLOT = 7;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long seed;
+    private final int theaters;
+    private final int hallsPerTheater;
+    private final int movies;
+    private final int users;
+    private final int days;
+    private final int slotsPerDay;
+    private final double occupancy;
+    private final String startDate;
+    private final int batchSize;
+    private final int parallelism;
+
+    private volatile State state = State.IDLE;
+    // One generation at a time; a flag rather than synchronized so a virtual thread never pins its carrier
+    // for the whole run
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile String phase = "";
+    private final AtomicInteger chunksDone = new AtomicInteger();
+    private final AtomicInteger chunksTotal = new AtomicInteger();
+    private final AtomicLong usersInserted = new AtomicLong();
+    private final AtomicLong showtimesInserted = new AtomicLong();
+    private final AtomicLong ticketsInserted = new AtomicLong();
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${booking.seed.random-seed:42}") long seed,
+                                  @Value("${booking.seed.theaters:5}") int theaters,
+                                  @Value("${booking.seed.halls-per-theater:10}") int hallsPerTheater,
+                                  @Value("${booking.seed.movies:10}") int movies,
+                                  @Value("${booking.seed.users:1000}") int users,
+                                  @Value("${booking.seed.days:60}") int days,
+                                  @Value("${booking.seed.slots-per-day:1}") int slotsPerDay,
+                                  @Value("${booking.seed.occupancy:0.05}") double occupancy,
+                                  @Value("${booking.seed.start-date:}") String startDate,
+                                  @Value("${booking.seed.batch-size:1000}") int batchSize,
+                                  @Value("${booking.seed.parallelism:0}") int parallelism) {
+        if (slotsPerDay < 1 || slotsPerDay > LAST_SLOT_HOUR / SLOT_HOURS) {
+            throw new IllegalArgumentException("booking.seed.slots-per-day must be between 1 and "
+                    + LAST_SLOT_HOUR / SLOT_HOURS);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.seed = seed;
+        this.theaters = theaters;
+        this.hallsPerTheater = hallsPerTheater;
+        this.movies = Math.max(movies, 1);
+        this.users = users;
+        this.days = days;
+        this.slotsPerDay = slotsPerDay;
+        this.occupancy = occupancy;
+        this.startDate = startDate;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public enum State { IDLE, RUNNING, COMPLETED, FAILED }
+
+    /**
+     * Row counts of a generated data set.
+     */
+    public record Summary(long theaters, long halls, long movies, long users, long showtimes, long tickets) {
+    }
+
+    /**
+     * Snapshot of a running (or finished) generation: the current phase, its chunks and the rows written so far.
+     */
+    public record Progress(State state, String phase, int chunksDone, int chunksTotal,
+                           long users, long showtimes, long tickets) {
+    }
+
+    //  Generate the whole data set into an empty database
+    public Summary generate() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Data generation is already running.");
+        }
+        try {
+            return generateAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Summary generateAll() {
+        long started = System.nanoTime();
+        LocalDate firstDay = startDate.isBlank() ? LocalDate.now() : LocalDate.parse(startDate);
+        logger.info("Generating data set (seed {}): {} theaters x {} halls, {} movies, {} users, {} days x {} slots",
+                seed, theaters, hallsPerTheater, movies, users, days, slotsPerDay);
+        state = State.RUNNING;
+        usersInserted.set(0);
+        showtimesInserted.set(0);
+        ticketsInserted.set(0);
+
+        try {
+            startPhase("theaters, halls and movies", 1);
+            transactionTemplate.executeWithoutResult(status -> {
+                insertTheatersAndHalls();
+                insertMovies();
+            });
+            chunksDone.set(1);
+
+            int userChunks = (users + USER_CHUNK_SIZE - 1) / USER_CHUNK_SIZE;
+            inParallel("users", userChunks, this::insertUsers);
+            inParallel("showtimes and tickets", days, day -> insertShowtimesAndTickets(firstDay, day));
+        } catch (RuntimeException e) {
+            state = State.FAILED;
+            throw e;
+        }
+
+        Summary summary = new Summary(theaters, (long) theaters * hallsPerTheater, movies,
+                usersInserted.get(), showtimesInserted.get(), ticketsInserted.get());
+        state = State.COMPLETED;
+        logger.info("Generated {} in {} ms", summary, (System.nanoTime() - started) / 1_000_000);
+        return summary;
+    }
+
+    public Progress getProgress() {
+        return new Progress(state, phase, chunksDone.get(), chunksTotal.get(),
+                usersInserted.get(), showtimesInserted.get(), ticketsInserted.get());
+    }
+
+    private void insertTheatersAndHalls() {
+        List<Object[]> theaterRows = new ArrayList<>();
+        List<Object[]> hallRows = new ArrayList<>();
+        for (int t = 0; t < theaters; t++) {
+            UUID theaterId = id(THEATER, t);
+            theaterRows.add(new Object[]{theaterId, "Theater " + (t + 1), "Location " + (t + 1)});
+            for (int h = 0; h < hallsPerTheater; h++) {
+                hallRows.add(new Object[]{id(HALL, hallIndex(t, h)), "Hall " + (h + 1), capacity(h), theaterId});
+            }
+        }
+        insert("INSERT INTO theater (id, name, location) VALUES (?, ?, ?)", theaterRows);
+        insert("INSERT INTO hall (id, name, capacity, theater_id) VALUES (?, ?, ?, ?)", hallRows);
+    }
+
+    private void insertMovies() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int m = 0; m < movies; m++) {
+            SplittableRandom random = random(MOVIE, m);
+            rows.add(new Object[]{id(MOVIE, m), "Movie " + (m + 1), GENRES[random.nextInt(GENRES.length)],
+                    90 + random.nextInt(91), Math.round((5 + random.nextDouble() * 4.5) * 10) / 10.0,
+                    1970 + random.nextInt(55)});
+        }
+        insert("INSERT INTO movie (id, title, genre, duration, rating, release_year) VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertUsers(int chunk) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int u = chunk * USER_CHUNK_SIZE; u < Math.min((chunk + 1) * USER_CHUNK_SIZE, users); u++) {
+            rows.add(new Object[]{id(USER, u), "User " + (u + 1), "user" + (u + 1) + "@example.com"});
+        }
+        insert("INSERT INTO app_user (id, name, email) VALUES (?, ?, ?)", rows);
+        usersInserted.addAndGet(rows.size());
+    }
+
+    // All showtimes of one day with their tickets
+    private void insertShowtimesAndTickets(LocalDate firstDay, int day) {
+        int halls = theaters * hallsPerTheater;
+        // Every hall of a time slot gets its own window of users, no window may wrap onto another
+        int usersPerHall = users / Math.max(halls, 1);
+        long seatsPerShowtime = capacity(hallsPerTheater - 1) + 1;
+        List<Object[]> showtimeRows = new ArrayList<>();
+        List<Object[]> ticketRows = new ArrayList<>();
+
+        for (int slot = 0; slot < slotsPerDay; slot++) {
+            long timeSlot = (long) day * slotsPerDay + slot;
+            LocalDateTime start = firstDay.plusDays(day)
+                    .atTime(LAST_SLOT_HOUR - SLOT_HOURS * (slotsPerDay - slot), 0);
+            int userOffset = users > 0 ? random(TIME_SLOT, timeSlot).nextInt(users) : 0;
+
+            for (int t = 0; t < theaters; t++) {
+                for (int h = 0; h < hallsPerTheater; h++) {
+                    int hall = hallIndex(t, h);
+                    long showtime = timeSlot * halls + hall;
+                    UUID showtimeId = id(SHOWTIME, showtime);
+                    SplittableRandom random = random(SHOWTIME, showtime);
+                    showtimeRows.add(new Object[]{showtimeId, id(MOVIE, random.nextInt(movies)), id(THEATER, t),
+                            id(HALL, hall), start, start.plusMinutes(SHOW_MINUTES)});
+
+                    int capacity = capacity(h);
+                    int sold = Math.min(usersPerHall,
+                            Math.min(capacity, (int) Math.round(capacity * occupancy * (0.5 + random.nextDouble()))));
+                    int firstSeat = random.nextInt(capacity);
+                    for (int i = 0; i < sold; i++) {
+                        int seatNumber = (firstSeat + i) % capacity + 1;
+                        int user = (int) ((userOffset + (long) hall * usersPerHall + i) % users);
+                        ticketRows.add(new Object[]{id(TICKET, showtime * seatsPerShowtime + seatNumber),
+                                showtimeId, id(USER, user), seatNumber, PRICES[random.nextInt(PRICES.length)]});
+                    }
+                }
+            }
+        }
+
+        insert("INSERT INTO showtime (id, movie_id, theater_id, hall_id, start_time, end_time) VALUES (?, ?, ?, ?, ?, ?)",
+                showtimeRows);
+        insert("INSERT INTO ticket (id, showtime_id, user_id, seat_number, price) VALUES (?, ?, ?, ?, ?)", ticketRows);
+        showtimesInserted.addAndGet(showtimeRows.size());
+        ticketsInserted.addAndGet(ticketRows.size());
+    }
+
+    private void startPhase(String name, int chunks) {
+        phase = name;
+        chunksDone.set(0);
+        chunksTotal.set(chunks);
+    }
+
+    // Run the chunks on the worker pool, each in its own transaction
+    private void inParallel(String name, int chunks, IntConsumer chunk) {
+        startPhase(name, chunks);
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < chunks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    transactionTemplate.executeWithoutResult(status -> chunk.accept(index));
+                    logProgress(name, chunksDone.incrementAndGet(), chunks);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Data generation failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Data generation interrupted.", e);
+        }
+    }
+
+    private void logProgress(String name, int done, int chunks) {
+        if (done * 10L / chunks > (done - 1) * 10L / chunks) {
+            logger.info("Seeding {}: {}/{} chunks ({}%), {} users, {} showtimes, {} tickets so far",
+                    name, done, chunks, done * 100L / chunks,
+                    usersInserted.get(), showtimesInserted.get(), ticketsInserted.get());
+        }
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, (statement, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                statement.setObject(i + 1, row[i]);
+            }
+        });
+    }
+
+    private int hallIndex(int theater, int hall) {
+        return theater * hallsPerTheater + hall;
+    }
+
+    // Same hall sizes as the original fixed seed: 160, 170, ... seats
+    private static int capacity(int hall) {
+        return 150 + (hall + 1) * 10;
+    }
+
+    // Stable ID of the index-th row of a kind; mix() is a bijection, so IDs never collide
+    private UUID id(int kind, long index) {
+        return new UUID(mix(seed * 31 + kind), mix(index));
+    }
+
+    private SplittableRandom random(int kind, long index) {
+        return new SplittableRandom(mix(mix(seed * 31 + kind) ^ index));
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,11 +1,11 @@
 package com.movie.ticketbooking.service;
 
+import com.movie.ticketbooking.config.CacheConfig;
 import com.movie.ticketbooking.dao.TheaterRepository;
-import com.movie.ticketbooking.dao.ShowtimeRepository;
 import com.movie.ticketbooking.dao.HallRepository;
 import com.movie.ticketbooking.model.Theater;
-import com.movie.ticketbooking.model.Showtime;
-import com.movie.ticketbooking.model.Hall;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,13 +16,14 @@ import java.util.UUID;
 @Service
 public class TheaterService {
     private final TheaterRepository theaterRepository;
-    private final ShowtimeRepository showtimeRepository;
     private final HallRepository hallRepository;
+    private final BulkShowtimeDeleter bulkShowtimeDeleter;
 
-    public TheaterService(TheaterRepository theaterRepository, ShowtimeRepository showtimeRepository, HallRepository hallRepository) {
+    public TheaterService(TheaterRepository theaterRepository, HallRepository hallRepository,
+                          BulkShowtimeDeleter bulkShowtimeDeleter) {
         this.theaterRepository = theaterRepository;
-        this.showtimeRepository = showtimeRepository;
         this.hallRepository = hallRepository;
+        this.bulkShowtimeDeleter = bulkShowtimeDeleter;
     }
 
     public List<Theater> getAllTheaters() {
@@ -37,6 +38,7 @@ public class TheaterService {
         return theaterRepository.save(theater);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.SHOWTIMES, allEntries = true)
     public Optional<Theater> updateTheater(UUID id, Theater theaterDetails) {
         return theaterRepository.findById(id).map(existingTheater -> {
             existingTheater.setName(theaterDetails.getName());
@@ -47,27 +49,28 @@ public class TheaterService {
 
     /**
      * **Cascade Delete Fix**
-     * - Deletes all `Showtimes` before deleting `Halls`
+     * - Deletes all `Showtimes` (and their tickets) before deleting `Halls`
      * - Then deletes `Theater`
+     * Every step is a set-based delete, nothing is loaded into the persistence context.
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.HALLS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SHOWTIMES, allEntries = true)
+    })
     public boolean deleteTheater(UUID id) {
-        Optional<Theater> theaterOptional = theaterRepository.findById(id);
-        if (theaterOptional.isPresent()) {
-            Theater theater = theaterOptional.get();
+        if (theaterRepository.existsById(id)) {
+            // Step 1: Get the IDs of all halls of this theater
+            List<UUID> hallIds = hallRepository.findIdsByTheaterId(id);
 
-            // Step 1: Get all halls of this theater
-            List<Hall> halls = hallRepository.findByTheater(theater);
-
-            // Step 2: Get all showtimes related to these halls
-            List<Showtime> showtimes = showtimeRepository.findAllByHalls (halls);
-            showtimeRepository.deleteAll(showtimes);
+            // Step 2: Delete all showtimes of these halls with their tickets
+            bulkShowtimeDeleter.deleteInHalls(hallIds, "theater " + id + " deleted");
 
             // Step 3: Delete all halls
-            hallRepository.deleteAll(halls);
+            hallRepository.bulkDeleteByTheaterId(id);
 
             // Step 4: Delete the theater itself
-            theaterRepository.delete(theater);
+            theaterRepository.bulkDeleteById(id);
             return true;
         }
         return false;
@@ -0,0 +1,61 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.TicketEventRepository;
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.model.OutboxEvent;
+import com.movie.ticketbooking.model.TicketEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Builds the {@link TicketEvent} audit trail from the ticket outbox.
+ * Events already written (by {@code outboxEventId}) are skipped, so replays are harmless.
+ */
+@Component
+public class TicketEventOutboxConsumer implements OutboxConsumer {
+
+    private final TicketEventRepository ticketEventRepository;
+    private final TicketRepository ticketRepository;
+
+    public TicketEventOutboxConsumer(TicketEventRepository ticketEventRepository, TicketRepository ticketRepository) {
+        this.ticketEventRepository = ticketEventRepository;
+        this.ticketRepository = ticketRepository;
+    }
+
+    @Override
+    public String getName() {
+        return "ticket-events";
+    }
+
+    @Override
+    public void consume(List<OutboxEvent> events) {
+        Set<Long> alreadyWritten = new HashSet<>(ticketEventRepository.findOutboxEventIds(
+                events.stream().map(OutboxEvent::getId).toList()));
+
+        // Only link events to tickets that still exist, cancelled tickets are recorded without a reference
+        Set<UUID> existingTickets = new HashSet<>(ticketRepository.findExistingIds(
+                events.stream().map(OutboxEvent::getTicketId).filter(Objects::nonNull).distinct().toList()));
+
+        List<TicketEvent> ticketEvents = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            if (alreadyWritten.contains(event.getId())) {
+                continue;
+            }
+            TicketEvent ticketEvent = new TicketEvent(event.getEventType(),
+                    existingTickets.contains(event.getTicketId())
+                            ? ticketRepository.getReferenceById(event.getTicketId())
+                            : null,
+                    event.getDetails());
+            ticketEvent.setEventTime(event.getCreatedAt());
+            ticketEvent.setOutboxEventId(event.getId());
+            ticketEvents.add(ticketEvent);
+        }
+        ticketEventRepository.saveAll(ticketEvents);
+    }
+}
@@ -1,21 +1,131 @@
 package com.movie.ticketbooking.service;
 
 import com.movie.ticketbooking.dao.TicketEventRepository;
+import com.movie.ticketbooking.dto.KeysetPage;
+import com.movie.ticketbooking.dto.TicketEventMonthDTO;
 import com.movie.ticketbooking.model.TicketEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public class TicketEventService {
+    private static final Logger logger = LoggerFactory.getLogger(TicketEventService.class);
 
     private final TicketEventRepository ticketEventRepository;
+    private final EntityStreamer entityStreamer;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionMonths;
+    private final int deleteBatchSize;
 
-    public TicketEventService(TicketEventRepository ticketEventRepository) {
+    public TicketEventService(TicketEventRepository ticketEventRepository, EntityStreamer entityStreamer,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${booking.events.retention-months:0}") int retentionMonths,
+                              @Value("${booking.events.delete-batch-size:1000}") int deleteBatchSize) {
         this.ticketEventRepository = ticketEventRepository;
+        this.entityStreamer = entityStreamer;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionMonths = retentionMonths;
+        this.deleteBatchSize = deleteBatchSize;
     }
 
     public List<TicketEvent> getAllTicketEvents() {
         return ticketEventRepository.findAll();
     }
+
+    public KeysetPage<TicketEvent> getTicketEventsPage(UUID after, int limit) {
+        return KeysetPage.of(ticketEventRepository.findPageAfter(after, limit), limit, TicketEvent::getId);
+    }
+
+    public void streamAllTicketEvents(Consumer<TicketEvent> consumer) {
+        entityStreamer.forEach(ticketEventRepository::streamAllBy, consumer);
+    }
+
+    //  Events in [from, to) in time order, optionally of one type
+    public List<TicketEvent> findTicketEvents(LocalDateTime from, LocalDateTime to, String eventType, int limit) {
+        checkRange(from, to);
+        return ticketEventRepository.findInRange(TicketEvent.monthOf(from), TicketEvent.monthOf(to),
+                eventType, from, to, Limit.of(limit));
+    }
+
+    public void streamTicketEvents(LocalDateTime from, LocalDateTime to, String eventType,
+                                   Consumer<TicketEvent> consumer) {
+        checkRange(from, to);
+        entityStreamer.forEach(() -> ticketEventRepository.streamInRange(TicketEvent.monthOf(from),
+                TicketEvent.monthOf(to), eventType, from, to), consumer);
+    }
+
+    //  Month buckets with their size and time span
+    public List<TicketEventMonthDTO> getMonths() {
+        return ticketEventRepository.findMonths();
+    }
+
+    //  Delete every event of one month, batch by batch
+    public int deleteMonth(YearMonth month) {
+        int eventMonth = TicketEvent.monthOf(month);
+        int deleted = deleteInBatches(limit -> ticketEventRepository.findIdsInMonth(eventMonth, limit));
+        logger.info("Deleted ticket events of {} ({} events)", month, deleted);
+        return deleted;
+    }
+
+    //  Delete months older than the retention period (disabled when retention is 0)
+    @Scheduled(cron = "${booking.events.retention-cron:0 30 3 * * *}")
+    public void deleteExpiredMonths() {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        int eventMonth = TicketEvent.monthOf(oldestKept);
+        int deleted = deleteInBatches(limit -> ticketEventRepository.findIdsInMonthsBefore(eventMonth, limit));
+        if (deleted > 0) {
+            logger.info("Deleted {} ticket events older than {}", deleted, oldestKept);
+        }
+    }
+
+    //  Assign months to events recorded before events had one
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void assignMissingMonths() {
+        int updated = ticketEventRepository.assignMissingMonths();
+        if (updated > 0) {
+            logger.info("Assigned months to {} existing ticket events", updated);
+        }
+    }
+
+    // Deletes the selected events delete-batch-size at a time, one transaction per batch, so a large month
+    // neither holds its locks nor grows its undo log for the whole delete
+    private int deleteInBatches(Function<Limit, List<UUID>> nextBatch) {
+        int deleted = 0;
+        while (true) {
+            List<UUID> ids = nextBatch.apply(Limit.of(deleteBatchSize));
+            if (ids.isEmpty()) {
+                return deleted;
+            }
+            Integer batch = transactionTemplate.execute(status -> ticketEventRepository.bulkDeleteByIds(ids));
+            deleted += batch != null ? batch : 0;
+            if (ids.size() < deleteBatchSize) {
+                return deleted;
+            }
+        }
+    }
+
+    private static void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("`from` must be before `to`.");
+        }
+    }
 }
@@ -1,20 +1,38 @@
 package com.movie.ticketbooking.service;
 
+import com.movie.ticketbooking.dao.OutboxEventRepository;
+import com.movie.ticketbooking.dao.ShowtimeRepository;
 import com.movie.ticketbooking.dao.TicketEventRepository;
 import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dao.UserRepository;
+import com.movie.ticketbooking.dto.KeysetPage;
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import com.movie.ticketbooking.dto.TicketDTO;
+import com.movie.ticketbooking.dto.UserDTO;
+import com.movie.ticketbooking.model.OutboxEvent;
 import com.movie.ticketbooking.model.Showtime;
 import com.movie.ticketbooking.model.Ticket;
-import com.movie.ticketbooking.model.TicketEvent;
 import com.movie.ticketbooking.model.User;
+import com.movie.ticketbooking.exception.SeatAlreadyBookedException;
 import jakarta.transaction.Transactional;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class TicketService {
@@ -22,100 +40,356 @@ public class TicketService {
 
     private final TicketRepository ticketRepository;
     private final TicketEventRepository ticketEventRepository;  // ✅ Inject TicketEventRepository
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+    private final EntityStreamer entityStreamer;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final OccupancyService occupancyService;
+    private final ShowtimeRepository showtimeRepository;
+    private final UserRepository userRepository;
+
+    // A ticket to import, for a showtime and user that were already looked up
+    public record ImportedTicket(ShowtimeDetails showtime, UUID userId, int seatNumber, double price) {
+    }
 
-    public TicketService(TicketRepository ticketRepository, TicketEventRepository ticketEventRepository) {
+    public TicketService(TicketRepository ticketRepository, TicketEventRepository ticketEventRepository,
+                         SeatInventoryService seatInventoryService, SeatHoldService seatHoldService,
+                         EntityStreamer entityStreamer, OutboxEventRepository outboxEventRepository,
+                         OutboxPublisher outboxPublisher, BookingIntervalIndex bookingIntervalIndex, OccupancyService occupancyService,
+                         ShowtimeRepository showtimeRepository, UserRepository userRepository) {
         this.ticketRepository = ticketRepository;
         this.ticketEventRepository = ticketEventRepository;  // ✅ Assign TicketEventRepository
+        this.seatInventoryService = seatInventoryService;
+        this.seatHoldService = seatHoldService;
+        this.entityStreamer = entityStreamer;
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.occupancyService = occupancyService;
+        this.showtimeRepository = showtimeRepository;
+        this.userRepository = userRepository;
     }
 
     //  Get all tickets
-    public List<Ticket> getAllTickets() {
+    public List<TicketDTO> getAllTickets() {
         logger.info("Fetching all tickets from the database.");
-        return ticketRepository.findAll();
+        return ticketRepository.findViews(Limit.unlimited());
+    }
+
+    //  Get one keyset page of tickets ordered by ID
+    public KeysetPage<TicketDTO> getTicketsPage(UUID after, int limit) {
+        return KeysetPage.of(ticketRepository.findViewPageAfter(after, limit), limit, TicketDTO::getId);
+    }
+
+    //  Stream all tickets to the consumer without loading the whole table
+    public void streamAllTickets(Consumer<TicketDTO> consumer) {
+        entityStreamer.forEach(ticketRepository::streamViews, consumer);
     }
 
     //  Get all tickets for a specific user
-    public List<Ticket> getTicketsByUser(User user) {
-        logger.info("Fetching all tickets for user: {}", user.getId());
-        return ticketRepository.findByUser(user);
+    public List<TicketDTO> getTicketsByUser(UserDTO user) {
+        logger.info("Fetching all tickets for user: {}", user.id());
+        return ticketRepository.findViewsByUserId(user.id());
     }
 
     //  Get ticket by ID
-    public Optional<Ticket> getTicketById(UUID id) {
+    public Optional<TicketDTO> getTicketById(UUID id) {
         logger.info("Fetching ticket with ID: {}", id);
-        return ticketRepository.findById(id);
+        return ticketRepository.findViewById(id);
     }
 
-    public Ticket bookTicket(Showtime showtime, User user, int seatNumber, double price) {
+    @Transactional
+    public Ticket bookTicket(ShowtimeDetails showtime, UserDTO user, int seatNumber, double price) {
         logger.info("Attempting to book a ticket for User: {}, Showtime: {}, Seat: {}, Price: {}",
-                user.getId(), showtime.getId(), seatNumber, price);
+                user.id(), showtime.id(), seatNumber, price);
 
-        if (seatNumber <= 0 || seatNumber > showtime.getHall().getCapacity()) {
+        if (seatNumber <= 0 || seatNumber > showtime.hall().capacity()) {
             logger.warn("Invalid seat number {}. Must be between 1 and {}",
-                    seatNumber, showtime.getHall().getCapacity());
-            throw new RuntimeException("Invalid seat number! Must be between 1 and " +
-                    showtime.getHall().getCapacity());
+                    seatNumber, showtime.hall().capacity());
+            throw new IllegalArgumentException("Invalid seat number! Must be between 1 and " +
+                    showtime.hall().capacity());
         }
 
-        if (LocalDateTime.now().isAfter(showtime.getStartTime().minusHours(3))) {
+        if (LocalDateTime.now().isAfter(showtime.startTime().minusHours(3))) {
             logger.warn("Booking failed. Cannot book tickets within 3 hours of showtime.");
-            throw new RuntimeException("Cannot book tickets within 3 hours of showtime.");
+            throw new IllegalArgumentException("Cannot book tickets within 3 hours of showtime.");
         }
 
-        if (ticketRepository.existsByShowtimeAndSeatNumber(showtime, seatNumber)) {
+        // Claim the seat in memory first, the DB is only touched once the seat is ours
+        if (!seatInventoryService.claimSeat(showtime, seatNumber)) {
             logger.warn("Booking failed. Seat {} is already booked for Showtime: {}",
-                    seatNumber, showtime.getId());
-            throw new RuntimeException("Seat already booked for this showtime.");
+                    seatNumber, showtime.id());
+            throw new SeatAlreadyBookedException(showtime.id(), seatNumber);
+        }
+        seatInventoryService.releaseUnlessCommitted(showtime.id(), List.of(seatNumber));
+
+        return persistBooking(showtime, user, List.of(seatNumber), price).get(0);
+    }
+
+    //  Book several seats of one showtime for the same user, all or nothing
+    @Transactional
+    public List<Ticket> bookTickets(ShowtimeDetails showtime, UserDTO user, List<Integer> seatNumbers, double price) {
+        logger.info("Attempting to book {} tickets for User: {}, Showtime: {}, Seats: {}, Price: {}",
+                seatNumbers.size(), user.id(), showtime.id(), seatNumbers, price);
+
+        if (seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat number is required.");
+        }
+
+        if (seatNumbers.stream().distinct().count() != seatNumbers.size()) {
+            logger.warn("Group booking failed. Duplicate seat numbers in request: {}", seatNumbers);
+            throw new IllegalArgumentException("Seat numbers must be unique.");
+        }
+
+        for (int seatNumber : seatNumbers) {
+            if (seatNumber <= 0 || seatNumber > showtime.hall().capacity()) {
+                logger.warn("Invalid seat number {}. Must be between 1 and {}",
+                        seatNumber, showtime.hall().capacity());
+                throw new IllegalArgumentException("Invalid seat number! Must be between 1 and " +
+                        showtime.hall().capacity());
+            }
+        }
+
+        if (LocalDateTime.now().isAfter(showtime.startTime().minusHours(3))) {
+            logger.warn("Booking failed. Cannot book tickets within 3 hours of showtime.");
+            throw new IllegalArgumentException("Cannot book tickets within 3 hours of showtime.");
+        }
+
+        int takenSeat = seatInventoryService.claimSeats(showtime, seatNumbers);
+        if (takenSeat != 0) {
+            logger.warn("Group booking failed. Seat {} is already booked for Showtime: {}",
+                    takenSeat, showtime.id());
+            throw new SeatAlreadyBookedException(showtime.id(), takenSeat);
+        }
+        seatInventoryService.releaseUnlessCommitted(showtime.id(), seatNumbers);
+
+        return persistBooking(showtime, user, seatNumbers, price);
+    }
+
+    //  Book the best block of adjacent free seats for the user
+    @Transactional
+    public List<Ticket> bookBestSeats(ShowtimeDetails showtime, UserDTO user, int count, double price) {
+        logger.info("Attempting to book best {} adjacent seats for User: {}, Showtime: {}, Price: {}",
+                count, user.id(), showtime.id(), price);
+
+        if (count <= 0 || count > showtime.hall().capacity()) {
+            logger.warn("Invalid seat count {}. Must be between 1 and {}", count, showtime.hall().capacity());
+            throw new IllegalArgumentException("Invalid seat count! Must be between 1 and " +
+                    showtime.hall().capacity());
+        }
+
+        if (LocalDateTime.now().isAfter(showtime.startTime().minusHours(3))) {
+            logger.warn("Booking failed. Cannot book tickets within 3 hours of showtime.");
+            throw new IllegalArgumentException("Cannot book tickets within 3 hours of showtime.");
+        }
+
+        List<Integer> seatNumbers = seatInventoryService.claimBestSeats(showtime, count);
+        if (seatNumbers.isEmpty()) {
+            logger.warn("Booking failed. No {} adjacent seats left for Showtime: {}", count, showtime.id());
+            throw new IllegalArgumentException("Not enough adjacent seats available for this showtime.");
+        }
+        seatInventoryService.releaseUnlessCommitted(showtime.id(), seatNumbers);
+
+        return persistBooking(showtime, user, seatNumbers, price);
+    }
+
+    //  Turn a seat hold into a ticket, the held seat is already claimed
+    @Transactional
+    public Ticket confirmHold(UUID holdId, ShowtimeDetails showtime, UserDTO user, double price) {
+        logger.info("Attempting to confirm hold {} for User: {}, Showtime: {}", holdId, user.id(), showtime.id());
+        SeatHold hold = seatHoldService.takeHold(holdId);
+        seatInventoryService.releaseUnlessCommitted(showtime.id(), List.of(hold.seatNumber()));
+
+        if (LocalDateTime.now().isAfter(showtime.startTime().minusHours(3))) {
+            logger.warn("Confirmation failed. Cannot book tickets within 3 hours of showtime.");
+            throw new IllegalArgumentException("Cannot book tickets within 3 hours of showtime.");
+        }
+
+        return persistBooking(showtime, user, List.of(hold.seatNumber()), price).get(0);
+    }
+
+    //  Import already sold tickets (e.g. from a box office or partner system) in JDBC batches, all or nothing
+    @Transactional
+    public List<UUID> importTickets(List<ImportedTicket> imports) {
+        logger.info("Attempting to import {} tickets", imports.size());
+
+        Map<UUID, List<ImportedTicket>> importsByShowtime = imports.stream()
+                .collect(Collectors.groupingBy(ticket -> ticket.showtime().id(), LinkedHashMap::new, Collectors.toList()));
+        for (List<ImportedTicket> showtimeImports : importsByShowtime.values()) {
+            ShowtimeDetails showtime = showtimeImports.get(0).showtime();
+            int capacity = showtime.hall().capacity();
+            for (ImportedTicket ticket : showtimeImports) {
+                if (ticket.seatNumber() <= 0 || ticket.seatNumber() > capacity) {
+                    logger.warn("Import failed. Invalid seat number {} for Showtime: {}", ticket.seatNumber(), showtime.id());
+                    throw new IllegalArgumentException("Invalid seat number " + ticket.seatNumber() + " for showtime "
+                            + showtime.id() + "! Must be between 1 and " + capacity);
+                }
+            }
+        }
+        checkImportOverlaps(imports);
+
+        // Claim the seats in memory first, like a regular booking
+        for (List<ImportedTicket> showtimeImports : importsByShowtime.values()) {
+            ShowtimeDetails showtime = showtimeImports.get(0).showtime();
+            List<Integer> seatNumbers = showtimeImports.stream().map(ImportedTicket::seatNumber).toList();
+            int rejectedSeat = seatInventoryService.claimSeats(showtime, seatNumbers);
+            if (rejectedSeat != 0) {
+                logger.warn("Import failed. Seat {} is already booked for Showtime: {}", rejectedSeat, showtime.id());
+                throw new SeatAlreadyBookedException(showtime.id(), rejectedSeat);
+            }
+            seatInventoryService.releaseUnlessCommitted(showtime.id(), seatNumbers);
+        }
+
+        List<Ticket> tickets = imports.stream()
+                .map(ticket -> new Ticket(showtimeRepository.getReferenceById(ticket.showtime().id()),
+                        userRepository.getReferenceById(ticket.userId()), ticket.seatNumber(), ticket.price()))
+                .toList();
+        try {
+            ticketRepository.insertAll(tickets);
+        } catch (DataIntegrityViolationException e) {
+            if (!isSeatConflict(e)) {
+                throw e;
+            }
+            logger.warn("Import failed. Some seats were taken in the database");
+            importsByShowtime.keySet().forEach(seatInventoryService::invalidateAfterCompletion);
+            throw new SeatAlreadyBookedException("One of the imported seats is already booked.");
+        }
+
+        // insertAll detaches the tickets batch by batch, so only the generated IDs are read back
+        List<UUID> ticketIds = tickets.stream().map(Ticket::getId).toList();
+        List<OutboxEvent> events = new ArrayList<>(imports.size());
+        for (int i = 0; i < imports.size(); i++) {
+            ImportedTicket ticket = imports.get(i);
+            events.add(new OutboxEvent("ticket_booked", ticketIds.get(i), ticket.showtime().id(), ticket.userId(),
+                    ticket.seatNumber(), "Ticket imported."));
+        }
+        outboxEventRepository.insertAll(events);
+        importsByShowtime.forEach((showtimeId, showtimeImports) ->
+                occupancyService.recordAfterCommit(showtimeId, showtimeImports.size()));
+        bookingIntervalIndex.evictUsersAfterCommit(imports.stream()
+                .map(ImportedTicket::userId)
+                .collect(Collectors.toSet()));
+
+        logger.info("Imported {} tickets for {} showtimes", ticketIds.size(), importsByShowtime.size());
+        return ticketIds;
+    }
+
+    // Imported tickets may neither overlap each other nor the existing bookings of their user
+    private void checkImportOverlaps(List<ImportedTicket> imports) {
+        Map<UUID, Map<UUID, ShowtimeDetails>> showtimesByUser = new HashMap<>();
+        for (ImportedTicket ticket : imports) {
+            showtimesByUser.computeIfAbsent(ticket.userId(), userId -> new HashMap<>())
+                    .putIfAbsent(ticket.showtime().id(), ticket.showtime());
         }
 
-        // Check if user has an overlapping booking
-        List<Ticket> overlappingTickets = ticketRepository.findOverlappingTickets(
-                user, showtime.getStartTime(), showtime.getEndTime());
+        for (Map.Entry<UUID, Map<UUID, ShowtimeDetails>> entry : showtimesByUser.entrySet()) {
+            UUID userId = entry.getKey();
+            List<ShowtimeDetails> showtimes = entry.getValue().values().stream()
+                    .sorted(Comparator.comparing(ShowtimeDetails::startTime))
+                    .toList();
+            LocalDateTime latestEnd = null;
+            for (ShowtimeDetails showtime : showtimes) {
+                if (latestEnd != null && latestEnd.isAfter(showtime.startTime())) {
+                    logger.warn("Import failed. User {} has overlapping tickets in the import", userId);
+                    throw new IllegalArgumentException("User " + userId + " has overlapping tickets in the import.");
+                }
+                if (bookingIntervalIndex.hasOverlap(userId, showtime.startTime(), showtime.endTime())) {
+                    logger.warn("Import failed. User {} already has a ticket overlapping Showtime: {}", userId, showtime.id());
+                    throw new IllegalArgumentException("User " + userId + " already has a booking during showtime "
+                            + showtime.id() + ".");
+                }
+                latestEnd = latestEnd == null || showtime.endTime().isAfter(latestEnd) ? showtime.endTime() : latestEnd;
+            }
+        }
+    }
 
-        if (!overlappingTickets.isEmpty()) {
-            logger.warn("Booking failed. User {} already has a ticket in overlapping time: {}",
-                    user.getId(), overlappingTickets.get(0).getShowtime().getId());
-            throw new RuntimeException("You already have a booking during this time.");
+    // Persist tickets for seats that were already claimed, the claims are released if the transaction rolls back.
+    // Tickets point at their showtime and user by reference, the cached snapshots are never attached
+    private List<Ticket> persistBooking(ShowtimeDetails showtime, UserDTO user, List<Integer> seatNumbers, double price) {
+        Showtime showtimeReference = showtimeRepository.getReferenceById(showtime.id());
+        User userReference = userRepository.getReferenceById(user.id());
+        List<Ticket> tickets = new ArrayList<>(seatNumbers.size());
+        for (int seatNumber : seatNumbers) {
+            tickets.add(new Ticket(showtimeReference, userReference, seatNumber, price));
         }
+        // IDs are assigned on save, the inserts only run on the flush below
+        List<Ticket> savedTickets = ticketRepository.saveAll(tickets);
+
+        // Check if user has an overlapping booking and reserve the window in the same step
+        List<UUID> ticketIds = savedTickets.stream().map(Ticket::getId).toList();
+        if (!bookingIntervalIndex.reserve(user.id(), ticketIds, showtime.startTime(), showtime.endTime())) {
+            logger.warn("Booking failed. User {} already has a ticket overlapping Showtime: {}",
+                    user.id(), showtime.id());
+            throw new IllegalArgumentException("You already have a booking during this time.");
+        }
+        flushSeats(showtime, seatNumbers);
+        occupancyService.recordAfterCommit(showtime.id(), seatNumbers.size());
 
-        // Save the ticket if no conflicts
-        Ticket ticket = new Ticket(showtime, user, seatNumber, price);
-        Ticket savedTicket = ticketRepository.save(ticket);
+        // ✅ Record the ticket booking events once the booking commits, off the request thread
+        List<OutboxEvent> events = new ArrayList<>(savedTickets.size());
+        for (Ticket savedTicket : savedTickets) {
+            events.add(new OutboxEvent("ticket_booked", savedTicket, "User booked a ticket."));
+        }
+        outboxPublisher.publishAll(events);
 
-        // ✅ Log the ticket booking event
-        TicketEvent event = new TicketEvent("ticket_booked", savedTicket, "User booked a ticket.");
-        ticketEventRepository.save(event);
-        logger.info("✅ Event logged: ticket_booked for ticket ID: {}", savedTicket.getId());
-        logger.info("Ticket booked successfully. Ticket ID: {}, Price: {}", savedTicket.getId(), price);
+        for (Ticket savedTicket : savedTickets) {
+            logger.info("✅ Event recorded: ticket_booked for ticket ID: {}", savedTicket.getId());
+            logger.info("Ticket booked successfully. Ticket ID: {}, Price: {}", savedTicket.getId(), price);
+        }
 
-        return savedTicket;
+        return savedTickets;
+    }
+
+    // Insert the seats, the unique (showtime_id, seat_number) constraint is the final arbiter across instances
+    private void flushSeats(ShowtimeDetails showtime, List<Integer> seatNumbers) {
+        try {
+            ticketRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (!isSeatConflict(e)) {
+                throw e;
+            }
+            logger.warn("Booking failed. Seats {} were taken in the database for Showtime: {}",
+                    seatNumbers, showtime.id());
+            // The in-memory inventory missed a booking made elsewhere, rebuild it once our claims are rolled back
+            seatInventoryService.invalidateAfterCompletion(showtime.id());
+            throw new SeatAlreadyBookedException(showtime.id(), seatNumbers);
+        }
+    }
+
+    private static boolean isSeatConflict(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains(Ticket.SEAT_CONSTRAINT);
     }
 
     @Transactional
     public boolean cancelTicket(UUID ticketId) {
         logger.info("Attempting to cancel ticket with ID: {}", ticketId);
 
-        Optional<Ticket> ticketOptional = ticketRepository.findById(ticketId);
+        Optional<Ticket> ticketOptional = ticketRepository.findWithShowtimeById(ticketId);
         if (ticketOptional.isPresent()) {
             Ticket ticket = ticketOptional.get();
 
             if (LocalDateTime.now().isAfter(ticket.getShowtime().getStartTime().minusHours(3))) {
                 logger.warn("Cancellation failed. Cannot cancel tickets within 3 hours of showtime.");
-                throw new RuntimeException("Cannot cancel tickets within 3 hours of showtime.");
+                throw new IllegalArgumentException("Cannot cancel tickets within 3 hours of showtime.");
             }
 
-            // ✅ Extract details (avoid using full Ticket object to prevent Hibernate errors)
+            // ✅ Build the event before deletion, the outbox only keeps the ticket's IDs
             UUID ticketRefId = ticket.getId();
             String ticketDetails = "User canceled ticket for showtime: " + ticket.getShowtime().getId();
+            outboxPublisher.publish(new OutboxEvent("ticket_deleted", ticket, ticketDetails));
 
-            // ✅ Delete the ticket first (to avoid transient object errors)
+            // ✅ Keep earlier events of this ticket but drop their reference, then delete the ticket
+            ticketEventRepository.detachFromTicket(ticketRefId);
             ticketRepository.delete(ticket);
             ticketRepository.flush(); // Force immediate deletion
-
-            // ✅ Now log the event separately after deletion
-            TicketEvent event = new TicketEvent("ticket_deleted", null, ticketDetails);
-            ticketEventRepository.save(event);
-            logger.info("✅ Event logged: ticket_deleted for ticket ID: {}", ticketRefId);
+            seatInventoryService.releaseAfterCommit(ticket.getShowtime().getId(), ticket.getSeatNumber());
+            bookingIntervalIndex.removeAfterCommit(ticket.getUser().getId(), ticketRefId);
+            occupancyService.recordAfterCommit(ticket.getShowtime().getId(), -1);
+            logger.info("✅ Event recorded: ticket_deleted for ticket ID: {}", ticketRefId);
 
             return true;
         } else {
@@ -126,41 +400,47 @@ public class TicketService {
 
 
     //  Change a ticket seat
+    @Transactional
     public Ticket changeSeat(UUID ticketId, int newSeatNumber) {
         logger.info("Attempting to change seat for ticket ID: {} to seat: {}", ticketId, newSeatNumber);
-        Optional<Ticket> ticketOptional = ticketRepository.findById(ticketId);
+        Optional<Ticket> ticketOptional = ticketRepository.findDetailedById(ticketId);
 
         if (ticketOptional.isPresent()) {
             Ticket ticket = ticketOptional.get();
-            Showtime showtime = ticket.getShowtime();
+            ShowtimeDetails showtime = ShowtimeDetails.from(ticket.getShowtime());
 
-            if (newSeatNumber <= 0 || newSeatNumber > showtime.getHall().getCapacity()) {
+            if (newSeatNumber <= 0 || newSeatNumber > showtime.hall().capacity()) {
                 logger.warn("Seat change failed. Seat number {} is out of valid range.", newSeatNumber);
-                throw new RuntimeException("Invalid seat number! Must be between 1 and " + showtime.getHall().getCapacity());
+                throw new IllegalArgumentException("Invalid seat number! Must be between 1 and " + showtime.hall().capacity());
             }
 
-            if (LocalDateTime.now().isAfter(showtime.getStartTime().minusHours(3))) {
+            if (LocalDateTime.now().isAfter(showtime.startTime().minusHours(3))) {
                 logger.warn("Seat change failed. Cannot change seat within 3 hours of showtime.");
-                throw new RuntimeException("Cannot change seat within 3 hours of showtime.");
+                throw new IllegalArgumentException("Cannot change seat within 3 hours of showtime.");
             }
 
-            if (ticketRepository.existsByShowtimeAndSeatNumber(showtime, newSeatNumber)) {
-                logger.warn("Seat change failed. Seat {} is already booked for Showtime: {}", newSeatNumber, showtime.getId());
-                throw new RuntimeException("Seat already booked for this showtime.");
+            if (!seatInventoryService.claimSeat(showtime, newSeatNumber)) {
+                logger.warn("Seat change failed. Seat {} is already booked for Showtime: {}", newSeatNumber, showtime.id());
+                throw new SeatAlreadyBookedException(showtime.id(), newSeatNumber);
             }
 
+            // The new seat is given back on rollback, the old one only once the change is committed
+            seatInventoryService.releaseUnlessCommitted(showtime.id(), List.of(newSeatNumber));
+            seatInventoryService.releaseAfterCommit(showtime.id(), ticket.getSeatNumber());
+
             ticket.setSeatNumber(newSeatNumber);
             Ticket updatedTicket = ticketRepository.save(ticket);
+            flushSeats(showtime, List.of(newSeatNumber));
 
-            // ✅ Log the seat change event
-            TicketEvent event = new TicketEvent("ticket_seat_changed", updatedTicket, "User changed seat to " + newSeatNumber);
-            ticketEventRepository.save(event);
+            // ✅ Record the seat change event
+            outboxPublisher.publish(new OutboxEvent("ticket_seat_changed", updatedTicket,
+                    "User changed seat to " + newSeatNumber));
             logger.info(" Seat change successful. Ticket ID: {} now has seat {}", updatedTicket.getId(), newSeatNumber);
 
             return updatedTicket;
         } else {
             logger.warn("Seat change failed. Ticket with ID {} not found.", ticketId);
-            throw new RuntimeException("Ticket not found.");
+            throw new IllegalArgumentException("Ticket not found.");
         }
     }
 }
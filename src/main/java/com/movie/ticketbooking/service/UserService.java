@@ -1,30 +1,69 @@
 package com.movie.ticketbooking.service;
 
+import com.movie.ticketbooking.config.CacheConfig;
+import com.movie.ticketbooking.dao.TicketEventRepository;
+import com.movie.ticketbooking.dao.TicketRepository;
 import com.movie.ticketbooking.dao.UserRepository;
+import com.movie.ticketbooking.dto.BookedSeat;
+import com.movie.ticketbooking.dto.KeysetPage;
+import com.movie.ticketbooking.dto.UserDTO;
 import com.movie.ticketbooking.model.User;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketEventRepository ticketEventRepository;
+    private final EntityStreamer entityStreamer;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final SeatInventoryService seatInventoryService;
+    private final OccupancyService occupancyService;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, TicketRepository ticketRepository,
+                       TicketEventRepository ticketEventRepository, EntityStreamer entityStreamer,
+                       BookingIntervalIndex bookingIntervalIndex, SeatInventoryService seatInventoryService,
+                       OccupancyService occupancyService) {
         this.userRepository = userRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketEventRepository = ticketEventRepository;
+        this.entityStreamer = entityStreamer;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.seatInventoryService = seatInventoryService;
+        this.occupancyService = occupancyService;
     }
 
     // Get all users
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<UserDTO> getAllUsers() {
+        return userRepository.findViews(Limit.unlimited());
     }
 
-    // Get user by ID (UUID)
-    public Optional<User> getUserById(UUID id) {
-        return userRepository.findById(id);
+    // Get one keyset page of users ordered by ID
+    public KeysetPage<UserDTO> getUsersPage(UUID after, int limit) {
+        return KeysetPage.of(userRepository.findViewPageAfter(after, limit), limit, UserDTO::id);
+    }
+
+    // Stream all users to the consumer without loading the whole table
+    public void streamAllUsers(Consumer<UserDTO> consumer) {
+        entityStreamer.forEach(userRepository::streamViews, consumer);
+    }
+
+    // Get user by ID (UUID), cached as an immutable snapshot
+    @Cacheable(cacheNames = CacheConfig.USERS, unless = "#result == null")
+    public Optional<UserDTO> getUserById(UUID id) {
+        return userRepository.findById(id).map(UserDTO::from);
     }
 
     // Save a new user
@@ -33,6 +72,7 @@ public class UserService {
     }
 
     // Update user
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public Optional<User> updateUser(UUID id, User userDetails) {
         return userRepository.findById(id).map(existingUser -> {
             existingUser.setName(userDetails.getName());
@@ -41,10 +81,22 @@ public class UserService {
         });
     }
 
-    // Delete user by ID
+    // Delete user by ID, their tickets go with them and the seats are freed and uncounted once the delete commits
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public boolean deleteUser(UUID id) {
         if (userRepository.existsById(id)) {
+            Map<UUID, List<Integer>> seatsByShowtime = ticketRepository.findBookedSeatsByUserId(id).stream()
+                    .collect(Collectors.groupingBy(BookedSeat::showtimeId,
+                            Collectors.mapping(BookedSeat::seatNumber, Collectors.toList())));
+            // Events keep their audit trail but lose the reference to the deleted tickets
+            ticketEventRepository.detachFromUser(id);
             userRepository.deleteById(id);
+            seatsByShowtime.forEach((showtimeId, seatNumbers) -> {
+                seatInventoryService.releaseAfterCommit(showtimeId, seatNumbers);
+                occupancyService.recordAfterCommit(showtimeId, -seatNumbers.size());
+            });
+            bookingIntervalIndex.evictUsersAfterCommit(List.of(id));
             return true;
         }
         return false;
@@ -0,0 +1,157 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dto.BookingWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookingIntervalIndexTest {
+
+    // Tomorrow 00:00, so every window below is still upcoming
+    private static final LocalDateTime DAY = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+
+    private final UUID userId = UUID.randomUUID();
+    private TicketRepository ticketRepository;
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        index = new BookingIntervalIndex(ticketRepository);
+    }
+
+    @Test
+    void windowsAreHalfOpen() {
+        bookedWindows(window(at(18), at(20)));
+
+        assertThat(index.hasOverlap(userId, at(19), at(21))).isTrue();
+        assertThat(index.hasOverlap(userId, at(17), at(19))).isTrue();
+        assertThat(index.hasOverlap(userId, at(20), at(22))).isFalse();
+        assertThat(index.hasOverlap(userId, at(16), at(18))).isFalse();
+    }
+
+    @Test
+    void aLongWindowIsFoundBehindShorterOnesStartingLater() {
+        bookedWindows(window(at(10), at(18)), window(at(11), at(12)), window(at(13), at(14)));
+
+        assertThat(index.hasOverlap(userId, at(15), at(16))).isTrue();
+        assertThat(index.hasOverlap(userId, at(18), at(19))).isFalse();
+    }
+
+    @Test
+    void windowsThatAlreadyEndedAreIgnored() {
+        LocalDateTime yesterday = DAY.minusDays(2);
+        bookedWindows(window(yesterday, yesterday.plusHours(2)));
+
+        assertThat(index.hasOverlap(userId, yesterday, yesterday.plusHours(1))).isFalse();
+    }
+
+    @Test
+    void aUserIsLoadedFromTheDatabaseOnce() {
+        bookedWindows(window(at(18), at(20)));
+
+        index.hasOverlap(userId, at(10), at(11));
+        index.hasOverlap(userId, at(12), at(13));
+        index.reserve(userId, List.of(UUID.randomUUID()), at(14), at(15));
+
+        verify(ticketRepository, times(1)).findBookingWindows(eq(userId), any());
+    }
+
+    @Test
+    void reserveAddsTheWindowOnlyWhenNothingOverlaps() {
+        bookedWindows();
+
+        assertThat(index.reserve(userId, List.of(UUID.randomUUID()), at(18), at(20))).isTrue();
+        assertThat(index.reserve(userId, List.of(UUID.randomUUID()), at(19), at(21))).isFalse();
+        assertThat(index.reserve(userId, List.of(UUID.randomUUID()), at(20), at(22))).isTrue();
+
+        assertThat(index.hasOverlap(userId, at(21), at(23))).isTrue();
+    }
+
+    @Test
+    void removeFreesTheWindowOfACancelledTicket() {
+        UUID ticketId = UUID.randomUUID();
+        bookedWindows(new BookingWindow(ticketId, at(18), at(20)));
+        assertThat(index.hasOverlap(userId, at(18), at(20))).isTrue();
+
+        index.removeAfterCommit(userId, ticketId);
+
+        assertThat(index.reserve(userId, List.of(UUID.randomUUID()), at(18), at(20))).isTrue();
+    }
+
+    @Test
+    void aRolledBackReservationIsRemovedAgain() {
+        bookedWindows();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(index.reserve(userId, List.of(UUID.randomUUID()), at(18), at(20))).isTrue();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(index.hasOverlap(userId, at(18), at(20))).isFalse();
+    }
+
+    @Test
+    void anEvictedUserIsReloaded() {
+        bookedWindows();
+        index.hasOverlap(userId, at(18), at(20));
+
+        bookedWindows(window(at(18), at(20)));
+        index.evictUser(userId);
+
+        assertThat(index.hasOverlap(userId, at(18), at(20))).isTrue();
+    }
+
+    @Test
+    void aLoadOverlappingAnEvictionOfTheUserIsRedone() {
+        when(ticketRepository.findBookingWindows(eq(userId), any()))
+                .thenAnswer(invocation -> {
+                    index.evictUser(userId);
+                    return List.of();
+                })
+                .thenReturn(List.of(window(at(18), at(20))));
+
+        assertThat(index.hasOverlap(userId, at(18), at(20))).isTrue();
+        verify(ticketRepository, times(2)).findBookingWindows(eq(userId), any());
+    }
+
+    @Test
+    void aLoadOverlappingAnEvictionOfAnotherUserIsKept() {
+        UUID otherUserId = UUID.randomUUID();
+        when(ticketRepository.findBookingWindows(eq(userId), any()))
+                .thenAnswer(invocation -> {
+                    index.evictUser(otherUserId);
+                    return List.of(window(at(18), at(20)));
+                });
+
+        assertThat(index.hasOverlap(userId, at(18), at(20))).isTrue();
+        verify(ticketRepository, times(1)).findBookingWindows(eq(userId), any());
+    }
+
+    private void bookedWindows(BookingWindow... windows) {
+        when(ticketRepository.findBookingWindows(eq(userId), any())).thenReturn(List.of(windows));
+    }
+
+    private static BookingWindow window(LocalDateTime start, LocalDateTime end) {
+        return new BookingWindow(UUID.randomUUID(), start, end);
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
@@ -0,0 +1,93 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dto.HallSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HallScheduleIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 6, 1, 0, 0);
+
+    private final UUID hallId = UUID.randomUUID();
+
+    @Test
+    void windowsAreHalfOpen() {
+        UUID showtimeId = UUID.randomUUID();
+        HallScheduleIndex index = HallScheduleIndex.of(List.of(slot(showtimeId, at(18), at(20))));
+
+        assertThat(index.findConflict(hallId, at(16), at(18))).isNull();
+        assertThat(index.findConflict(hallId, at(20), at(22))).isNull();
+        assertThat(index.findConflict(hallId, at(17), at(19)).showtimeId()).isEqualTo(showtimeId);
+        assertThat(index.findConflict(hallId, at(19), at(21)).showtimeId()).isEqualTo(showtimeId);
+        assertThat(index.findConflict(hallId, at(18), at(20)).showtimeId()).isEqualTo(showtimeId);
+    }
+
+    @Test
+    void aCandidateSpanningSeveralWindowsConflicts() {
+        HallScheduleIndex index = HallScheduleIndex.of(List.of(
+                slot(UUID.randomUUID(), at(10), at(12)),
+                slot(UUID.randomUUID(), at(14), at(16))));
+
+        assertThat(index.findConflict(hallId, at(9), at(17))).isNotNull();
+        assertThat(index.findConflict(hallId, at(12), at(14))).isNull();
+    }
+
+    @Test
+    void overlappingLegacyShowtimesAreMergedIntoOneWindow() {
+        UUID first = UUID.randomUUID();
+        // The second showtime starts inside the first and ends after it, the third lies inside the merged window
+        HallScheduleIndex index = HallScheduleIndex.of(List.of(
+                slot(first, at(10), at(14)),
+                slot(UUID.randomUUID(), at(12), at(18)),
+                slot(UUID.randomUUID(), at(13), at(15))));
+
+        // Only the merged window is indexed, so a gap behind a shorter window cannot hide the long one
+        assertThat(index.findConflict(hallId, at(16), at(17)).showtimeId()).isEqualTo(first);
+        assertThat(index.findConflict(hallId, at(17), at(19)).end()).isEqualTo(at(18));
+        assertThat(index.findConflict(hallId, at(18), at(20))).isNull();
+        assertThat(index.findConflict(hallId, at(8), at(10))).isNull();
+    }
+
+    @Test
+    void adjacentLegacyShowtimesStaySeparate() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        HallScheduleIndex index = HallScheduleIndex.of(List.of(slot(first, at(10), at(12)), slot(second, at(12), at(14))));
+
+        assertThat(index.findConflict(hallId, at(11), at(12)).showtimeId()).isEqualTo(first);
+        assertThat(index.findConflict(hallId, at(12), at(13)).showtimeId()).isEqualTo(second);
+    }
+
+    @Test
+    void hallsAreIndexedIndependently() {
+        HallScheduleIndex index = HallScheduleIndex.of(List.of(slot(UUID.randomUUID(), at(10), at(12))));
+
+        assertThat(index.findConflict(UUID.randomUUID(), at(10), at(12))).isNull();
+    }
+
+    @Test
+    void addedRequestEntriesConflictWithLaterEntries() {
+        HallScheduleIndex index = HallScheduleIndex.of(List.of());
+
+        assertThat(index.findConflict(hallId, at(10), at(12))).isNull();
+        index.add(hallId, at(10), at(12), 0);
+
+        HallScheduleIndex.Occupant occupant = index.findConflict(hallId, at(11), at(13));
+        assertThat(occupant.requestIndex()).isZero();
+        assertThat(occupant.showtimeId()).isNull();
+        assertThat(index.findConflict(hallId, at(12), at(13))).isNull();
+    }
+
+    private HallSlot slot(UUID showtimeId, LocalDateTime start, LocalDateTime end) {
+        return new HallSlot(showtimeId, hallId, start, end);
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
@@ -0,0 +1,113 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.ShowtimeRepository;
+import com.movie.ticketbooking.dao.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class OccupancyServiceTest {
+
+    private final UUID showtimeId = UUID.randomUUID();
+    private TicketRepository ticketRepository;
+    private OccupancyService occupancyService;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        occupancyService = new OccupancyService(ticketRepository, mock(ShowtimeRepository.class),
+                new ShowtimeLocks(16), 0.9, 7);
+    }
+
+    @Test
+    void aCommittedBookingAdjustsTheCounterItSaw() {
+        soldInDatabase(10);
+        assertThat(occupancyService.getSoldSeats(showtimeId)).isEqualTo(10);
+
+        inTransaction(true, () -> occupancyService.recordAfterCommit(showtimeId, 3));
+        inTransaction(true, () -> occupancyService.recordAfterCommit(showtimeId, -1));
+
+        assertThat(occupancyService.getSoldSeats(showtimeId)).isEqualTo(12);
+        verify(ticketRepository, times(1)).countByShowtimeId(showtimeId);
+    }
+
+    @Test
+    void aRolledBackBookingLeavesTheCounterAlone() {
+        soldInDatabase(10);
+        occupancyService.getSoldSeats(showtimeId);
+
+        inTransaction(false, () -> occupancyService.recordAfterCommit(showtimeId, 3));
+
+        assertThat(occupancyService.getSoldSeats(showtimeId)).isEqualTo(10);
+    }
+
+    @Test
+    void aCommitIsNotAddedToACounterLoadedAfterIt() {
+        soldInDatabase(10);
+
+        // No counter yet when the booking is recorded, a read before the commit loads one that may include it
+        inTransaction(true, () -> {
+            occupancyService.recordAfterCommit(showtimeId, 3);
+            soldInDatabase(13);
+            occupancyService.getSoldSeats(showtimeId);
+        });
+
+        assertThat(occupancyService.getSoldSeats(showtimeId)).isEqualTo(13);
+    }
+
+    @Test
+    void aCounterReloadedDuringTheTransactionIsDroppedOnCommit() {
+        soldInDatabase(10);
+        occupancyService.getSoldSeats(showtimeId);
+
+        inTransaction(true, () -> {
+            occupancyService.recordAfterCommit(showtimeId, 3);
+            // Reloaded in between, the new counter may or may not include this booking
+            occupancyService.evict(showtimeId);
+            soldInDatabase(13);
+            occupancyService.getSoldSeats(showtimeId);
+        });
+
+        assertThat(occupancyService.getSoldSeats(showtimeId)).isEqualTo(13);
+        verify(ticketRepository, times(3)).countByShowtimeId(showtimeId);
+    }
+
+    @Test
+    void withoutATransactionTheCounterIsDroppedAndReloaded() {
+        soldInDatabase(10);
+        occupancyService.getSoldSeats(showtimeId);
+
+        soldInDatabase(13);
+        occupancyService.recordAfterCommit(showtimeId, 3);
+
+        assertThat(occupancyService.getSoldSeats(showtimeId)).isEqualTo(13);
+        verify(ticketRepository, times(2)).countByShowtimeId(showtimeId);
+    }
+
+    private void soldInDatabase(long sold) {
+        when(ticketRepository.countByShowtimeId(showtimeId)).thenReturn(sold);
+    }
+
+    // Runs the body with transaction synchronization active, then completes it like the transaction manager would
+    private static void inTransaction(boolean commit, Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            body.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            int status = commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+            synchronizations.forEach(sync -> sync.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.OutboxEventRepository;
+import com.movie.ticketbooking.dao.OutboxOffsetRepository;
+import com.movie.ticketbooking.dao.OutboxPendingRepository;
+import com.movie.ticketbooking.model.OutboxEvent;
+import com.movie.ticketbooking.model.OutboxOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final long RETENTION_HOURS = 24;
+
+    private OutboxEventRepository outboxEventRepository;
+    private OutboxPendingRepository outboxPendingRepository;
+    private OutboxOffsetRepository outboxOffsetRepository;
+    private OutboxConsumer tickets;
+    private OutboxConsumer audit;
+    private OutboxRelay relay;
+
+    // Outbox tables "in the database", kept by the repository stubs below
+    private final TreeMap<Long, OutboxEvent> events = new TreeMap<>();
+    private final TreeSet<Long> unrelayed = new TreeSet<>();
+    private final Map<String, TreeSet<Long>> pending = new HashMap<>();
+    // Event IDs each consumer was handed, in delivery order
+    private final Map<String, List<Long>> delivered = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        outboxPendingRepository = mock(OutboxPendingRepository.class);
+        outboxOffsetRepository = mock(OutboxOffsetRepository.class);
+        tickets = consumer("tickets");
+        audit = consumer("audit");
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        relay = new OutboxRelay(outboxEventRepository, outboxPendingRepository, outboxOffsetRepository,
+                List.of(tickets, audit), new TransactionTemplate(transactionManager), BATCH_SIZE, RETENTION_HOURS);
+
+        when(outboxEventRepository.findUnrelayedIds(any(Limit.class))).thenAnswer(invocation -> {
+            Limit limit = invocation.getArgument(0);
+            return unrelayed.stream().limit(limit.max()).toList();
+        });
+        when(outboxEventRepository.markRelayed(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            unrelayed.removeAll(ids);
+            return ids.size();
+        });
+        when(outboxEventRepository.findPending(anyString(), any(Limit.class))).thenAnswer(invocation -> {
+            String consumerName = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return pendingFor(consumerName).stream().limit(limit.max()).map(events::get).toList();
+        });
+        when(outboxPendingRepository.enqueue(anyString(), anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(1);
+            pendingFor(invocation.getArgument(0)).addAll(ids);
+            return ids.size();
+        });
+        when(outboxPendingRepository.dequeue(anyString(), anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(1);
+            pendingFor(invocation.getArgument(0)).removeAll(ids);
+            return ids.size();
+        });
+        when(outboxPendingRepository.requeueFrom(anyString(), anyLong())).thenAnswer(invocation -> {
+            TreeSet<Long> queue = pendingFor(invocation.getArgument(0));
+            long fromEventId = invocation.getArgument(1);
+            int queued = 0;
+            for (long id : events.tailMap(fromEventId).keySet()) {
+                if (!unrelayed.contains(id) && queue.add(id)) {
+                    queued++;
+                }
+            }
+            return queued;
+        });
+    }
+
+    @Test
+    void eachEventIsFannedOutToEveryConsumerAndDeliveredInBatches() {
+        addEvents(1, 2, 3, 4, 5);
+
+        relay.relay();
+
+        assertThat(unrelayed).isEmpty();
+        verify(outboxPendingRepository, times(3)).enqueue(eq("tickets"), anyCollection());
+        verify(outboxPendingRepository, times(3)).enqueue(eq("audit"), anyCollection());
+        assertThat(delivered.get("tickets")).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(delivered.get("audit")).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(pending.values()).allSatisfy(queue -> assertThat(queue).isEmpty());
+        verify(tickets, times(3)).consume(anyList());
+    }
+
+    @Test
+    void anEventCommittedBelowDeliveredIdsIsStillDelivered() {
+        addEvents(1, 3);
+        relay.relay();
+
+        // Event 2 took its pooled ID earlier but committed after 3 was delivered
+        addEvents(2);
+        relay.relay();
+
+        assertThat(delivered.get("tickets")).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void aFailedConsumerIsRetriedWithoutHoldingBackTheOthers() {
+        addEvents(1, 2);
+        doThrow(new IllegalStateException("down")).doAnswer(this::record).when(tickets).consume(anyList());
+
+        relay.relay();
+
+        assertThat(delivered.get("tickets")).isNull();
+        assertThat(pending.get("tickets")).containsExactly(1L, 2L);
+        assertThat(delivered.get("audit")).containsExactly(1L, 2L);
+        verify(outboxOffsetRepository, never()).save(argThat(offset -> offset.getConsumerName().equals("tickets")));
+
+        relay.relay();
+
+        assertThat(delivered.get("tickets")).containsExactly(1L, 2L);
+        assertThat(pending.get("tickets")).isEmpty();
+        assertThat(delivered.get("audit")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void offsetsRecordTheLastDeliveredEvent() {
+        addEvents(1, 2, 3);
+
+        relay.relay();
+
+        ArgumentCaptor<OutboxOffset> captor = ArgumentCaptor.forClass(OutboxOffset.class);
+        verify(outboxOffsetRepository, atLeastOnce()).save(captor.capture());
+        assertThat(captor.getAllValues())
+                .filteredOn(offset -> offset.getConsumerName().equals("audit"))
+                .extracting(OutboxOffset::getLastEventId)
+                .containsExactly(2L, 3L);
+    }
+
+    @Test
+    void replayRequeuesRetainedEventsForOneConsumerOnly() {
+        addEvents(1, 2, 3);
+        relay.relay();
+
+        assertThat(relay.replay("tickets", 2)).isEqualTo(2);
+        relay.relay();
+
+        assertThat(delivered.get("tickets")).containsExactly(1L, 2L, 3L, 2L, 3L);
+        assertThat(delivered.get("audit")).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void replayForAnUnknownConsumerIsRejected() {
+        assertThatThrownBy(() -> relay.replay("billing", 1)).isInstanceOf(IllegalArgumentException.class);
+
+        verify(outboxPendingRepository, never()).requeueFrom(anyString(), anyLong());
+    }
+
+    @Test
+    void purgeDeletesDeliveredEventsPastTheRetention() {
+        when(outboxEventRepository.deleteDelivered(any())).thenReturn(3);
+        LocalDateTime before = LocalDateTime.now().minusHours(RETENTION_HOURS);
+
+        relay.purge();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).deleteDelivered(cutoff.capture());
+        assertThat(cutoff.getValue()).isBetween(before, LocalDateTime.now().minusHours(RETENTION_HOURS));
+    }
+
+    private OutboxConsumer consumer(String name) {
+        OutboxConsumer consumer = mock(OutboxConsumer.class);
+        when(consumer.getName()).thenReturn(name);
+        doAnswer(this::record).when(consumer).consume(anyList());
+        return consumer;
+    }
+
+    private Void record(InvocationOnMock invocation) {
+        OutboxConsumer consumer = (OutboxConsumer) invocation.getMock();
+        List<OutboxEvent> batch = invocation.getArgument(0);
+        delivered.computeIfAbsent(consumer.getName(), name -> new ArrayList<>())
+                .addAll(batch.stream().map(OutboxEvent::getId).toList());
+        return null;
+    }
+
+    private TreeSet<Long> pendingFor(String consumerName) {
+        return pending.computeIfAbsent(consumerName, name -> new TreeSet<>());
+    }
+
+    private void addEvents(long... ids) {
+        for (long id : ids) {
+            OutboxEvent event = new OutboxEvent();
+            event.setId(id);
+            event.setEventType("ticket_booked");
+            event.setCreatedAt(LocalDateTime.now());
+            events.put(id, event);
+            unrelayed.add(id);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.movie.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatBitmapTest {
+
+    @Test
+    void claimTakesAFreeSeatOnlyOnce() {
+        SeatBitmap bitmap = new SeatBitmap(10);
+
+        assertThat(bitmap.claim(3)).isTrue();
+        assertThat(bitmap.claim(3)).isFalse();
+        assertThat(bitmap.isTaken(3)).isTrue();
+        assertThat(bitmap.isTaken(4)).isFalse();
+    }
+
+    @Test
+    void releaseFreesATakenSeat() {
+        SeatBitmap bitmap = new SeatBitmap(10);
+        bitmap.claim(7);
+
+        assertThat(bitmap.release(7)).isTrue();
+        assertThat(bitmap.release(7)).isFalse();
+        assertThat(bitmap.isTaken(7)).isFalse();
+        assertThat(bitmap.claim(7)).isTrue();
+    }
+
+    @Test
+    void seatsOnBothSidesOfAWordBoundaryAreIndependent() {
+        SeatBitmap bitmap = new SeatBitmap(130);
+
+        assertThat(bitmap.claim(64)).isTrue();
+        assertThat(bitmap.claim(65)).isTrue();
+        assertThat(bitmap.claim(128)).isTrue();
+        assertThat(bitmap.claim(130)).isTrue();
+
+        assertThat(bitmap.isTaken(63)).isFalse();
+        assertThat(bitmap.isTaken(66)).isFalse();
+        assertThat(bitmap.isTaken(129)).isFalse();
+        assertThat(bitmap.countTaken()).isEqualTo(4);
+    }
+
+    @Test
+    void countTakenCountsEveryClaimedSeat() {
+        SeatBitmap bitmap = new SeatBitmap(200);
+        for (int seat = 1; seat <= 200; seat += 3) {
+            bitmap.claim(seat);
+        }
+
+        assertThat(bitmap.countTaken()).isEqualTo(67);
+    }
+
+    @Test
+    void seatsOutsideTheHallAreRejected() {
+        SeatBitmap bitmap = new SeatBitmap(10);
+
+        assertThatThrownBy(() -> bitmap.claim(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bitmap.claim(11)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bitmap.release(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bitmap.isTaken(11)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void claimAllClaimsEverySeatWhenAllAreFree() {
+        SeatBitmap bitmap = new SeatBitmap(100);
+
+        assertThat(bitmap.claimAll(List.of(10, 64, 65))).isZero();
+        assertThat(bitmap.isTaken(10)).isTrue();
+        assertThat(bitmap.isTaken(64)).isTrue();
+        assertThat(bitmap.isTaken(65)).isTrue();
+    }
+
+    @Test
+    void claimAllRollsBackAndReportsTheFirstTakenSeat() {
+        SeatBitmap bitmap = new SeatBitmap(100);
+        bitmap.claim(12);
+
+        assertThat(bitmap.claimAll(List.of(10, 11, 12, 13))).isEqualTo(12);
+        assertThat(bitmap.countTaken()).isEqualTo(1);
+        assertThat(bitmap.isTaken(10)).isFalse();
+        assertThat(bitmap.isTaken(11)).isFalse();
+    }
+
+    @Test
+    void claimAllRejectsDuplicateSeats() {
+        SeatBitmap bitmap = new SeatBitmap(100);
+
+        assertThat(bitmap.claimAll(List.of(5, 6, 5))).isEqualTo(5);
+        assertThat(bitmap.countTaken()).isZero();
+    }
+
+    @Test
+    void claimAllWithASeatOutsideTheHallClaimsNothing() {
+        SeatBitmap bitmap = new SeatBitmap(100);
+
+        assertThatThrownBy(() -> bitmap.claimAll(List.of(1, 2, 101))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(bitmap.countTaken()).isZero();
+    }
+
+    @Test
+    void findBestBlockCentersTheBlockInAnEmptyHall() {
+        assertThat(new SeatBitmap(10).findBestBlock(2)).isEqualTo(5);
+        assertThat(new SeatBitmap(9).findBestBlock(3)).isEqualTo(4);
+        assertThat(new SeatBitmap(9).findBestBlock(9)).isEqualTo(1);
+    }
+
+    @Test
+    void findBestBlockPicksTheRunClosestToTheCenter() {
+        SeatBitmap bitmap = new SeatBitmap(128);
+        for (int seat = 60; seat <= 70; seat++) {
+            bitmap.claim(seat);
+        }
+
+        // 56..59 ends 7 seats left of the center, 71..74 starts 8 seats right of it
+        assertThat(bitmap.findBestBlock(4)).isEqualTo(56);
+    }
+
+    @Test
+    void findBestBlockFindsARunSpanningAWordBoundary() {
+        SeatBitmap bitmap = takenExcept(130, 62, 67);
+
+        assertThat(bitmap.findBestBlock(6)).isEqualTo(62);
+        assertThat(bitmap.findBestBlock(7)).isZero();
+    }
+
+    @Test
+    void findBestBlockDoesNotCountThePaddingAfterTheLastSeat() {
+        SeatBitmap bitmap = takenExcept(70, 66, 70);
+
+        assertThat(bitmap.findBestBlock(5)).isEqualTo(66);
+        assertThat(bitmap.findBestBlock(6)).isZero();
+    }
+
+    @Test
+    void findBestBlockReturnsZeroWhenNoBlockFits() {
+        SeatBitmap full = takenExcept(64, 0, -1);
+
+        assertThat(full.findBestBlock(1)).isZero();
+        assertThat(new SeatBitmap(10).findBestBlock(0)).isZero();
+        assertThat(new SeatBitmap(10).findBestBlock(11)).isZero();
+    }
+
+    // Hall with every seat taken except firstFree..lastFree
+    private static SeatBitmap takenExcept(int capacity, int firstFree, int lastFree) {
+        SeatBitmap bitmap = new SeatBitmap(capacity);
+        for (int seat = 1; seat <= capacity; seat++) {
+            if (seat < firstFree || seat > lastFree) {
+                bitmap.claim(seat);
+            }
+        }
+        return bitmap;
+    }
+}
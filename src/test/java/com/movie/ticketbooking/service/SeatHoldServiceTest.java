@@ -0,0 +1,108 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dto.HallDTO;
+import com.movie.ticketbooking.dto.MovieDTO;
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import com.movie.ticketbooking.dto.UserDTO;
+import com.movie.ticketbooking.exception.HoldNotFoundException;
+import com.movie.ticketbooking.exception.SeatAlreadyBookedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class SeatHoldServiceTest {
+
+    private final ShowtimeDetails showtime = showtime();
+    private final UserDTO user = new UserDTO(UUID.randomUUID(), "User", "user@example.com");
+    private SeatInventoryService inventory;
+    private SeatHoldService holds;
+
+    @BeforeEach
+    void setUp() {
+        TicketRepository ticketRepository = mock(TicketRepository.class);
+        when(ticketRepository.findSeatNumbersByShowtimeId(showtime.id())).thenReturn(List.of());
+        inventory = new SeatInventoryService(ticketRepository, new ShowtimeLocks(16));
+        // One second TTL, one extension
+        holds = new SeatHoldService(inventory, 1, 1, false);
+        holds.startExpirer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        holds.stopExpirer();
+    }
+
+    @Test
+    void aHeldSeatCannotBeHeldAgain() {
+        holds.holdSeat(showtime, user, 10);
+
+        assertThatThrownBy(() -> holds.holdSeat(showtime, user, 10)).isInstanceOf(SeatAlreadyBookedException.class);
+    }
+
+    @Test
+    void anExpiredHoldIsReapedAndItsSeatFreed() throws InterruptedException {
+        SeatHold hold = holds.holdSeat(showtime, user, 10);
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (inventory.getSeatBitmap(showtime).isTaken(10) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(inventory.getSeatBitmap(showtime).isTaken(10)).isFalse();
+        assertThat(holds.getHold(hold.id())).isEmpty();
+    }
+
+    @Test
+    void extendingPushesTheDeadlineUpToTheLimit() {
+        SeatHold hold = holds.holdSeat(showtime, user, 10);
+
+        SeatHold extended = holds.extendHold(hold.id());
+
+        assertThat(extended.extensions()).isEqualTo(1);
+        assertThat(extended.deadlineNanos()).isGreaterThan(hold.deadlineNanos());
+        assertThatThrownBy(() -> holds.extendHold(hold.id())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void extendingAnUnknownHoldIsNotFound() {
+        assertThatThrownBy(() -> holds.extendHold(UUID.randomUUID())).isInstanceOf(HoldNotFoundException.class);
+    }
+
+    @Test
+    void takingAHoldForConfirmationKeepsItsSeatClaimed() {
+        SeatHold hold = holds.holdSeat(showtime, user, 10);
+
+        SeatHold taken = holds.takeHold(hold.id());
+
+        assertThat(taken.seatNumber()).isEqualTo(10);
+        assertThat(holds.getHold(hold.id())).isEmpty();
+        assertThat(inventory.getSeatBitmap(showtime).isTaken(10)).isTrue();
+        assertThatThrownBy(() -> holds.takeHold(hold.id())).isInstanceOf(HoldNotFoundException.class);
+    }
+
+    @Test
+    void releasingAHoldFreesItsSeat() {
+        SeatHold hold = holds.holdSeat(showtime, user, 10);
+
+        assertThat(holds.releaseHold(hold.id())).isTrue();
+
+        assertThat(inventory.getSeatBitmap(showtime).isTaken(10)).isFalse();
+        assertThat(holds.releaseHold(hold.id())).isFalse();
+    }
+
+    private static ShowtimeDetails showtime() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new ShowtimeDetails(UUID.randomUUID(), start, start.plusHours(2),
+                new MovieDTO(UUID.randomUUID(), "Movie", "Drama", 120, 8.0, 2024),
+                new HallDTO(UUID.randomUUID(), "Hall 1", 100, UUID.randomUUID(), "Theater", "Location"));
+    }
+}
@@ -0,0 +1,167 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dto.HallDTO;
+import com.movie.ticketbooking.dto.MovieDTO;
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SeatInventoryServiceTest {
+
+    private static final int CAPACITY = 100;
+
+    private final ShowtimeDetails showtime = showtime();
+    private TicketRepository ticketRepository;
+    private SeatInventoryService inventory;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        inventory = new SeatInventoryService(ticketRepository, new ShowtimeLocks(16));
+    }
+
+    @Test
+    void bookedSeatsAreLoadedOnceAndThenServedFromMemory() {
+        bookedInDatabase(showtime, 3, 4);
+
+        assertThat(inventory.claimSeat(showtime, 3)).isFalse();
+        assertThat(inventory.claimSeat(showtime, 5)).isTrue();
+        assertThat(inventory.getSeatMap(showtime).getTakenSeats()).isEqualTo(3);
+
+        verify(ticketRepository, times(1)).findSeatNumbersByShowtimeId(showtime.id());
+    }
+
+    @Test
+    void aLoadOverlappingAReleaseOfItsShowtimeIsRedone() {
+        when(ticketRepository.findSeatNumbersByShowtimeId(showtime.id()))
+                .thenAnswer(invocation -> {
+                    // Seat 3 is cancelled while its row is still being read
+                    inventory.releaseSeat(showtime.id(), 3);
+                    return List.of(3);
+                })
+                .thenReturn(List.of());
+
+        assertThat(inventory.getSeatBitmap(showtime).isTaken(3)).isFalse();
+        verify(ticketRepository, times(2)).findSeatNumbersByShowtimeId(showtime.id());
+    }
+
+    @Test
+    void aLoadOverlappingAReleaseOfAnotherShowtimeIsKept() {
+        ShowtimeDetails other = showtime();
+        when(ticketRepository.findSeatNumbersByShowtimeId(showtime.id()))
+                .thenAnswer(invocation -> {
+                    inventory.releaseSeat(other.id(), 3);
+                    return List.of(3);
+                });
+
+        assertThat(inventory.getSeatBitmap(showtime).isTaken(3)).isTrue();
+        verify(ticketRepository, times(1)).findSeatNumbersByShowtimeId(showtime.id());
+    }
+
+    @Test
+    void claimsAreReleasedWhenTheTransactionRollsBack() {
+        bookedInDatabase(showtime);
+
+        inTransaction(false, () -> {
+            inventory.claimSeats(showtime, List.of(1, 2));
+            inventory.releaseUnlessCommitted(showtime.id(), List.of(1, 2));
+        });
+
+        assertThat(inventory.claimSeats(showtime, List.of(1, 2))).isZero();
+    }
+
+    @Test
+    void claimsAreKeptWhenTheTransactionCommits() {
+        bookedInDatabase(showtime);
+
+        inTransaction(true, () -> {
+            inventory.claimSeats(showtime, List.of(1, 2));
+            inventory.releaseUnlessCommitted(showtime.id(), List.of(1, 2));
+        });
+
+        assertThat(inventory.claimSeat(showtime, 1)).isFalse();
+    }
+
+    @Test
+    void aBitmapInvalidatedAfterASeatConflictIsRebuiltKeepingCurrentClaims() {
+        bookedInDatabase(showtime);
+        assertThat(inventory.claimSeat(showtime, 7)).isTrue(); // held, not in the database yet
+
+        // Seat 5 was booked by another instance, the database rejected our insert of it
+        bookedInDatabase(showtime, 5);
+        inTransaction(false, () -> inventory.invalidateAfterCompletion(showtime.id()));
+
+        SeatBitmap rebuilt = inventory.getSeatBitmap(showtime);
+        assertThat(rebuilt.isTaken(5)).isTrue();
+        assertThat(rebuilt.isTaken(7)).isTrue();
+        verify(ticketRepository, times(2)).findSeatNumbersByShowtimeId(showtime.id());
+    }
+
+    @Test
+    void concurrentClaimsOfTheSameSeatHaveExactlyOneWinner() throws Exception {
+        bookedInDatabase(showtime);
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> claims = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                claims.add(executor.submit(() -> {
+                    start.await();
+                    return inventory.claimSeat(showtime, 42);
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> claim : claims) {
+                winners += claim.get() ? 1 : 0;
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void bookedInDatabase(ShowtimeDetails showtime, Integer... seatNumbers) {
+        when(ticketRepository.findSeatNumbersByShowtimeId(showtime.id())).thenReturn(List.of(seatNumbers));
+    }
+
+    private static ShowtimeDetails showtime() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new ShowtimeDetails(UUID.randomUUID(), start, start.plusHours(2),
+                new MovieDTO(UUID.randomUUID(), "Movie", "Drama", 120, 8.0, 2024),
+                new HallDTO(UUID.randomUUID(), "Hall 1", CAPACITY, UUID.randomUUID(), "Theater", "Location"));
+    }
+
+    // Runs the body with transaction synchronization active, then completes it like the transaction manager would
+    private static void inTransaction(boolean commit, Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            body.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            int status = commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+            synchronizations.forEach(sync -> sync.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
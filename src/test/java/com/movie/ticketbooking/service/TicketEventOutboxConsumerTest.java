@@ -0,0 +1,114 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.TicketEventRepository;
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.model.OutboxEvent;
+import com.movie.ticketbooking.model.Ticket;
+import com.movie.ticketbooking.model.TicketEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TicketEventOutboxConsumerTest {
+
+    private TicketEventRepository ticketEventRepository;
+    private TicketRepository ticketRepository;
+    private TicketEventOutboxConsumer consumer;
+    // Outbox IDs "in the database", filled by saveAll like the unique outboxEventId column would be
+    private final Set<Long> written = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        ticketEventRepository = mock(TicketEventRepository.class);
+        ticketRepository = mock(TicketRepository.class);
+        consumer = new TicketEventOutboxConsumer(ticketEventRepository, ticketRepository);
+
+        when(ticketEventRepository.findOutboxEventIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(written::contains).toList();
+        });
+        when(ticketEventRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TicketEvent> events = invocation.getArgument(0);
+            events.forEach(event -> written.add(event.getOutboxEventId()));
+            return events;
+        });
+        when(ticketRepository.findExistingIds(anyList())).thenReturn(List.of());
+    }
+
+    @Test
+    void writesOneTicketEventPerOutboxEvent() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 18, 12, 0);
+        consumer.consume(List.of(event(1L, "ticket_booked", null, createdAt), event(2L, "ticket_deleted", null, createdAt)));
+
+        List<TicketEvent> saved = lastSaved();
+        assertThat(saved).extracting(TicketEvent::getOutboxEventId).containsExactly(1L, 2L);
+        assertThat(saved).extracting(TicketEvent::getEventType).containsExactly("ticket_booked", "ticket_deleted");
+        assertThat(saved).extracting(TicketEvent::getEventTime).containsOnly(createdAt);
+    }
+
+    @Test
+    void replayingABatchWritesNothingTwice() {
+        List<OutboxEvent> batch = List.of(event(1L, "ticket_booked", null, LocalDateTime.now()),
+                event(2L, "ticket_booked", null, LocalDateTime.now()));
+
+        consumer.consume(batch);
+        consumer.consume(batch);
+
+        assertThat(lastSaved()).isEmpty();
+        assertThat(written).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void replayOverlappingEarlierDeliveryOnlyWritesTheNewEvents() {
+        consumer.consume(List.of(event(1L, "ticket_booked", null, LocalDateTime.now())));
+
+        consumer.consume(List.of(event(1L, "ticket_booked", null, LocalDateTime.now()),
+                event(3L, "ticket_seat_changed", null, LocalDateTime.now())));
+
+        assertThat(lastSaved()).extracting(TicketEvent::getOutboxEventId).containsExactly(3L);
+    }
+
+    @Test
+    void onlyLinksTicketsThatStillExist() {
+        UUID existing = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        Ticket reference = new Ticket();
+        when(ticketRepository.findExistingIds(anyList())).thenReturn(List.of(existing));
+        when(ticketRepository.getReferenceById(existing)).thenReturn(reference);
+
+        consumer.consume(List.of(event(1L, "ticket_booked", existing, LocalDateTime.now()),
+                event(2L, "ticket_deleted", cancelled, LocalDateTime.now())));
+
+        List<TicketEvent> saved = lastSaved();
+        assertThat(saved.get(0).getTicket()).isSameAs(reference);
+        assertThat(saved.get(1).getTicket()).isNull();
+        verify(ticketRepository, never()).getReferenceById(cancelled);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TicketEvent> lastSaved() {
+        ArgumentCaptor<List<TicketEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ticketEventRepository, atLeastOnce()).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static OutboxEvent event(long id, String type, UUID ticketId, LocalDateTime createdAt) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setEventType(type);
+        event.setTicketId(ticketId);
+        event.setDetails(type);
+        event.setCreatedAt(createdAt);
+        return event;
+    }
+}
@@ -0,0 +1,87 @@
+package com.movie.ticketbooking.service;
+
+import com.movie.ticketbooking.dao.OutboxEventRepository;
+import com.movie.ticketbooking.dao.ShowtimeRepository;
+import com.movie.ticketbooking.dao.TicketEventRepository;
+import com.movie.ticketbooking.dao.TicketRepository;
+import com.movie.ticketbooking.dao.UserRepository;
+import com.movie.ticketbooking.dto.HallDTO;
+import com.movie.ticketbooking.dto.MovieDTO;
+import com.movie.ticketbooking.dto.ShowtimeDetails;
+import com.movie.ticketbooking.dto.UserDTO;
+import com.movie.ticketbooking.exception.SeatAlreadyBookedException;
+import com.movie.ticketbooking.model.Ticket;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TicketServiceTest {
+
+    private final ShowtimeDetails showtime = showtime();
+    private final UserDTO user = new UserDTO(UUID.randomUUID(), "User", "user@example.com");
+    private TicketRepository ticketRepository;
+    private SeatInventoryService seatInventoryService;
+    private OutboxPublisher outboxPublisher;
+    private TicketService ticketService;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        seatInventoryService = mock(SeatInventoryService.class);
+        outboxPublisher = mock(OutboxPublisher.class);
+        BookingIntervalIndex bookingIntervalIndex = mock(BookingIntervalIndex.class);
+        ticketService = new TicketService(ticketRepository, mock(TicketEventRepository.class), seatInventoryService,
+                mock(SeatHoldService.class), mock(EntityStreamer.class), mock(OutboxEventRepository.class),
+                outboxPublisher, bookingIntervalIndex, mock(OccupancyService.class),
+                mock(ShowtimeRepository.class), mock(UserRepository.class));
+
+        when(seatInventoryService.claimSeat(showtime, 10)).thenReturn(true);
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingIntervalIndex.reserve(eq(user.id()), anyList(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void aSeatConstraintViolationIsReportedAsAnAlreadyBookedSeat() {
+        // H2 reports the constraint with its schema and index suffix, in upper case
+        doThrow(violation("PUBLIC." + Ticket.SEAT_CONSTRAINT.toUpperCase() + "_INDEX_9"))
+                .when(ticketRepository).flush();
+
+        assertThatThrownBy(() -> ticketService.bookTicket(showtime, user, 10, 12.5))
+                .isInstanceOf(SeatAlreadyBookedException.class);
+
+        verify(seatInventoryService).invalidateAfterCompletion(showtime.id());
+        verify(outboxPublisher, never()).publishAll(anyList());
+    }
+
+    @Test
+    void otherConstraintViolationsAreRethrown() {
+        DataIntegrityViolationException violation = violation("PUBLIC.FK_TICKET_USER");
+        doThrow(violation).when(ticketRepository).flush();
+
+        assertThatThrownBy(() -> ticketService.bookTicket(showtime, user, 10, 12.5)).isSameAs(violation);
+
+        verify(seatInventoryService, never()).invalidateAfterCompletion(any());
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("Unique index or primary key violation"), constraintName));
+    }
+
+    private static ShowtimeDetails showtime() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new ShowtimeDetails(UUID.randomUUID(), start, start.plusHours(2),
+                new MovieDTO(UUID.randomUUID(), "Movie", "Drama", 120, 8.0, 2024),
+                new HallDTO(UUID.randomUUID(), "Hall 1", 100, UUID.randomUUID(), "Theater", "Location"));
+    }
+}